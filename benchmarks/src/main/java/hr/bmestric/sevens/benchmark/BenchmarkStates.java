@@ -0,0 +1,62 @@
+package hr.bmestric.sevens.benchmark;
+
+import hr.bmestric.sevens.engine.GameRules;
+import hr.bmestric.sevens.engine.MoveList;
+import hr.bmestric.sevens.engine.MoveValidator;
+import hr.bmestric.sevens.engine.TrickResolver;
+import hr.bmestric.sevens.model.Card;
+import hr.bmestric.sevens.model.GameState;
+import hr.bmestric.sevens.model.Player;
+import hr.bmestric.sevens.model.enums.PlayerType;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Deterministic game positions shared by the benchmarks.
+final class BenchmarkStates {
+    static final long SEED = 42L;
+
+    private BenchmarkStates() {
+    }
+
+    static List<Player> players() {
+        return List.of(
+                new Player("bench-1", "Bench 1", PlayerType.LOCAL),
+                new Player("bench-2", "Bench 2", PlayerType.LOCAL));
+    }
+
+    static GameState dealtGame() {
+        GameState state = new GameState("bench", players());
+        GameRules.dealNewGame(state, new SplittableRandom(SEED));
+        return state;
+    }
+
+    // Leader has played one card; the responder is to move.
+    static GameState respondingPosition() {
+        GameState state = dealtGame();
+        Player leader = state.findPlayer(state.getCurrentTurnPlayerId());
+        Card lead = leader.getHand().getCards().get(0);
+        GameRules.playCards(state, leader, List.of(lead), new TrickResolver());
+        return state;
+    }
+
+    // A few tricks into the game, with archived tricks and a partly drawn deck.
+    static GameState midGame() {
+        GameState state = dealtGame();
+        SplittableRandom random = new SplittableRandom(SEED);
+        MoveValidator validator = new MoveValidator();
+        TrickResolver resolver = new TrickResolver();
+        MoveList moves = new MoveList();
+        for (int i = 0; i < 12 && !state.isGameOver(); i++) {
+            if (validator.generateLegalMoves(state, state.getCurrentTurnPlayerId(), moves) == 0) {
+                break;
+            }
+            GameRules.playMove(state, currentPlayer(state), moves.get(random.nextInt(moves.size())), resolver);
+        }
+        return state;
+    }
+
+    static Player currentPlayer(GameState state) {
+        return state.findPlayer(state.getCurrentTurnPlayerId());
+    }
+}
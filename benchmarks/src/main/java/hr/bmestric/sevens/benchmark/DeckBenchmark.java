@@ -0,0 +1,52 @@
+package hr.bmestric.sevens.benchmark;
+
+import hr.bmestric.sevens.model.Card;
+import hr.bmestric.sevens.model.Deck;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class DeckBenchmark {
+    private static final int DRAW_SIZE = 4;
+
+    private Deck deck;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        deck = new Deck();
+        random = new SplittableRandom(BenchmarkStates.SEED);
+    }
+
+    @Benchmark
+    public Deck shuffle() {
+        deck.shuffle(random);
+        return deck;
+    }
+
+    // Includes the cost of copying a full deck to draw from.
+    @Benchmark
+    public void drawHands(Blackhole blackhole) {
+        Deck dealing = deck.copy();
+        while (!dealing.isEmpty()) {
+            blackhole.consume(dealing.draw(DRAW_SIZE));
+        }
+    }
+
+    @Benchmark
+    public void drawCards(Blackhole blackhole) {
+        Deck dealing = deck.copy();
+        Card card;
+        while ((card = dealing.drawCard()) != null) {
+            blackhole.consume(card);
+        }
+    }
+}
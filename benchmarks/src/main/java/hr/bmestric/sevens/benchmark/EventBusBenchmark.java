@@ -0,0 +1,44 @@
+package hr.bmestric.sevens.benchmark;
+
+import hr.bmestric.sevens.events.CardPlayedEvent;
+import hr.bmestric.sevens.events.GameEventBus;
+import hr.bmestric.sevens.model.Card;
+import hr.bmestric.sevens.model.enums.Rank;
+import hr.bmestric.sevens.model.enums.Suit;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class EventBusBenchmark {
+    @Param({"sync", "async"})
+    private String mode;
+
+    private GameEventBus eventBus;
+    private CardPlayedEvent event;
+    private final LongAdder delivered = new LongAdder();
+
+    @Setup
+    public void setUp() {
+        eventBus = new GameEventBus("async".equals(mode));
+        eventBus.subscribe(CardPlayedEvent.class, e -> delivered.increment());
+        event = new CardPlayedEvent("bench-1", List.of(Card.of(Rank.SEVEN, Suit.HEARTS)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        eventBus.shutdown();
+    }
+
+    @Benchmark
+    public void publish() {
+        eventBus.publish(event);
+    }
+}
@@ -0,0 +1,64 @@
+package hr.bmestric.sevens.benchmark;
+
+import hr.bmestric.sevens.engine.GameEngine;
+import hr.bmestric.sevens.model.Card;
+import hr.bmestric.sevens.model.GameState;
+import hr.bmestric.sevens.model.Hand;
+import hr.bmestric.sevens.model.Player;
+import hr.bmestric.sevens.model.Trick;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays whole games through the public engine API: leads, single-card responses
+ * (matching when possible) and passes by the leader, so every call goes through
+ * validation, locking and trick resolution as it would from the UI.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class GameEngineBenchmark {
+    private static final int MAX_MOVES = 200;
+
+    private GameEngine engine;
+    private List<Player> players;
+
+    @Setup
+    public void setUp() {
+        engine = new GameEngine();
+        players = BenchmarkStates.players();
+    }
+
+    @Benchmark
+    public GameState playFullGame() {
+        engine.startNewGame(players);
+        GameState state = engine.getState();
+        for (int moves = 0; moves < MAX_MOVES && !state.isGameOver(); moves++) {
+            String playerId = state.getCurrentTurnPlayerId();
+            Trick trick = state.getTrick();
+            Hand hand = BenchmarkStates.currentPlayer(state).getHand();
+
+            if (trick.hasCards() && playerId.equals(trick.getLeadingPlayerId())) {
+                engine.passTurn(playerId);
+            } else if (hand.isEmpty()) {
+                break;
+            } else {
+                engine.playCards(playerId, List.of(chooseCard(trick, hand)));
+            }
+            state = engine.getState();
+        }
+        return state;
+    }
+
+    private static Card chooseCard(Trick trick, Hand hand) {
+        if (trick.hasCards() && hand.containsRank(trick.getLeadingRank())) {
+            return hand.getCardsWithRank(trick.getLeadingRank()).get(0);
+        }
+        return hand.getCards().get(0);
+    }
+}
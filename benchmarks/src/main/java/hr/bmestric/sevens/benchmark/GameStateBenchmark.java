@@ -0,0 +1,43 @@
+package hr.bmestric.sevens.benchmark;
+
+import hr.bmestric.sevens.model.GameState;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class GameStateBenchmark {
+    private GameState state;
+
+    @Setup
+    public void setUp() {
+        state = BenchmarkStates.midGame();
+    }
+
+    @Benchmark
+    public GameState fork() {
+        return state.fork();
+    }
+
+    // The deep copy available before fork(), kept as a baseline.
+    @Benchmark
+    public GameState serializationRoundTrip() throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(state);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (GameState) in.readObject();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package hr.bmestric.sevens.benchmark;
+
+import hr.bmestric.sevens.engine.MoveList;
+import hr.bmestric.sevens.engine.MoveValidationResult;
+import hr.bmestric.sevens.engine.MoveValidator;
+import hr.bmestric.sevens.model.Card;
+import hr.bmestric.sevens.model.GameState;
+import hr.bmestric.sevens.model.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class MoveValidatorBenchmark {
+    private MoveValidator validator;
+    private final MoveList moves = new MoveList();
+
+    private GameState leadingState;
+    private String leadingPlayerId;
+    private List<Card> leadingPlay;
+
+    private GameState respondingState;
+    private String respondingPlayerId;
+    private List<Card> respondingPlay;
+
+    @Setup
+    public void setUp() {
+        validator = new MoveValidator();
+
+        leadingState = BenchmarkStates.dealtGame();
+        Player leader = BenchmarkStates.currentPlayer(leadingState);
+        leadingPlayerId = leader.getId();
+        leadingPlay = List.of(leader.getHand().getCards().get(0));
+
+        respondingState = BenchmarkStates.respondingPosition();
+        Player responder = BenchmarkStates.currentPlayer(respondingState);
+        respondingPlayerId = responder.getId();
+        respondingPlay = List.of(responder.getHand().getCards().get(0));
+    }
+
+    @Benchmark
+    public MoveValidationResult validateLeadingPlay() {
+        return validator.validate(leadingState, leadingPlayerId, leadingPlay);
+    }
+
+    @Benchmark
+    public MoveValidationResult validateResponsePlay() {
+        return validator.validate(respondingState, respondingPlayerId, respondingPlay);
+    }
+
+    @Benchmark
+    public int generateLeadingMoves() {
+        return validator.generateLegalMoves(leadingState, leadingPlayerId, moves);
+    }
+
+    @Benchmark
+    public int generateResponseMoves() {
+        return validator.generateLegalMoves(respondingState, respondingPlayerId, moves);
+    }
+}
@@ -0,0 +1,51 @@
+package hr.bmestric.sevens.benchmark;
+
+import hr.bmestric.sevens.model.GameState;
+import hr.bmestric.sevens.persistence.ObjectStorageService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class StorageBenchmark {
+    private ObjectStorageService storage;
+    private GameState state;
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        storage = new ObjectStorageService();
+        state = BenchmarkStates.respondingPosition();
+        file = Files.createTempFile("sevens-bench", ".dat");
+        storage.saveGame(state, file);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public void save() throws IOException {
+        storage.saveGame(state, file);
+    }
+
+    @Benchmark
+    public GameState load() throws IOException {
+        return storage.loadGame(file);
+    }
+
+    @Benchmark
+    public GameState saveAndLoad() throws IOException {
+        storage.saveGame(state, file);
+        return storage.loadGame(file);
+    }
+}
@@ -0,0 +1,39 @@
+package hr.bmestric.sevens.benchmark;
+
+import hr.bmestric.sevens.engine.TrickResolver;
+import hr.bmestric.sevens.model.GameState;
+import hr.bmestric.sevens.model.Player;
+import hr.bmestric.sevens.model.Trick;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn")
+public class TrickResolverBenchmark {
+    private TrickResolver resolver;
+    private GameState state;
+    private Trick trick;
+
+    @Setup
+    public void setUp() {
+        resolver = new TrickResolver();
+        state = BenchmarkStates.dealtGame();
+
+        // A lead and a response left on the table without resolving the trick
+        List<Player> players = state.getPlayers();
+        trick = state.getTrick();
+        trick.addCard(players.get(0).getHand().getCards().get(0), players.get(0).getId());
+        trick.addCard(players.get(1).getHand().getCards().get(0), players.get(1).getId());
+    }
+
+    @Benchmark
+    public boolean isTrickComplete() {
+        return resolver.isTrickComplete(trick, state);
+    }
+}
@@ -32,7 +32,7 @@ public class AppContext {
         // Create game engine components
         IMoveValidator moveValidator = new MoveValidator();
         ITrickResolver trickResolver = new TrickResolver();
-        this.gameEngine = new GameEngine(moveValidator, trickResolver);
+        this.gameEngine = new GameEngine(moveValidator, trickResolver, eventBus);
 
         logger.info("Application context initialized successfully");
     }
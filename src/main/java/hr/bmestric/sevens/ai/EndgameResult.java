@@ -0,0 +1,71 @@
+package hr.bmestric.sevens.ai;
+
+import hr.bmestric.sevens.engine.Move;
+
+/**
+ * Outcome of an exact endgame search: the best move for the player to move, the value of
+ * the position for seat 0 and the scores reached when both sides play the principal variation.
+ */
+public final class EndgameResult {
+    private final int bestMove;
+    private final int value;
+    private final int winnerSeat;
+    private final int firstSeatScore;
+    private final int secondSeatScore;
+    private final int[] principalVariation;
+    private final long nodes;
+
+    EndgameResult(int bestMove, int value, int winnerSeat, int firstSeatScore, int secondSeatScore,
+                  int[] principalVariation, long nodes) {
+        this.bestMove = bestMove;
+        this.value = value;
+        this.winnerSeat = winnerSeat;
+        this.firstSeatScore = firstSeatScore;
+        this.secondSeatScore = secondSeatScore;
+        this.principalVariation = principalVariation;
+        this.nodes = nodes;
+    }
+
+    // Encoded Move, or EndgameSolver.NO_MOVE when the game is already decided or the player is stuck.
+    public int getBestMove() {
+        return bestMove;
+    }
+
+    // Positive favours seat 0: a win is worth EndgameSolver.WIN_VALUE plus the final point margin.
+    public int getValue() {
+        return value;
+    }
+
+    // Seat that wins with best play, or SearchState.NO_SEAT if the game cannot be finished.
+    public int getWinnerSeat() {
+        return winnerSeat;
+    }
+
+    public int getScore(int seat) {
+        return seat == 0 ? firstSeatScore : secondSeatScore;
+    }
+
+    public int[] getPrincipalVariation() {
+        return principalVariation.clone();
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder line = new StringBuilder();
+        for (int move : principalVariation) {
+            if (line.length() > 0) {
+                line.append(' ');
+            }
+            line.append(Move.toString(move));
+        }
+        return "EndgameResult{value=" + value +
+                ", winner=" + winnerSeat +
+                ", score=" + firstSeatScore + ':' + secondSeatScore +
+                ", line=[" + line + ']' +
+                ", nodes=" + nodes + '}';
+    }
+}
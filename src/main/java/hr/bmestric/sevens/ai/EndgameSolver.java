@@ -0,0 +1,223 @@
+package hr.bmestric.sevens.ai;
+
+import hr.bmestric.sevens.engine.MoveList;
+import hr.bmestric.sevens.model.GameState;
+
+import java.util.Arrays;
+
+/**
+ * Exact solver for positions with an empty deck, where both hands are known to a player
+ * who remembers every card. Runs alpha-beta minimax (seat 0 maximizes) over
+ * {@link SearchState} and memoizes bounds in a fixed-size, always-replace transposition
+ * table, so repeated calls on the late game of one match mostly hit the table.
+ * Not thread-safe; each caller or search worker owns its solver.
+ */
+public final class EndgameSolver {
+    public static final int NO_MOVE = -1;
+    public static final int WIN_VALUE = 100;
+
+    private static final int DEFAULT_TABLE_BITS = 18;
+    private static final int MAX_PLIES = 64;
+    private static final int INFINITY = Integer.MAX_VALUE / 2;
+
+    private static final int EXACT = 0;
+    private static final int LOWER_BOUND = 1;
+    private static final int UPPER_BOUND = 2;
+
+    private final long[] keys;
+    // value (16 bits) | bound (2 bits) << 16 | best move << 32
+    private final long[] entries;
+    private final int tableMask;
+
+    private final SearchState[] stack;
+    private final MoveList[] moveLists;
+    private final int[] line = new int[MAX_PLIES];
+    private long nodes;
+
+    public EndgameSolver() {
+        this(DEFAULT_TABLE_BITS);
+    }
+
+    public EndgameSolver(int tableBits) {
+        if (tableBits < 1 || tableBits > 28) {
+            throw new IllegalArgumentException("Table size must be between 2^1 and 2^28 entries");
+        }
+        int size = 1 << tableBits;
+        this.keys = new long[size];
+        this.entries = new long[size];
+        this.tableMask = size - 1;
+        this.stack = new SearchState[MAX_PLIES + 1];
+        this.moveLists = new MoveList[MAX_PLIES + 1];
+        for (int i = 0; i <= MAX_PLIES; i++) {
+            stack[i] = new SearchState();
+            moveLists[i] = new MoveList();
+        }
+    }
+
+    public static boolean isSolvable(GameState state) {
+        return state.isInProgress() && state.getDeck().isEmpty();
+    }
+
+    public EndgameResult solve(GameState state) {
+        if (!isSolvable(state)) {
+            throw new IllegalArgumentException("Endgame solver needs a game in progress with an empty deck");
+        }
+        SearchState position = new SearchState();
+        position.loadComplete(state);
+        return solve(position);
+    }
+
+    /**
+     * Solves a position whose hidden cards are already known, e.g. a determinization with
+     * an empty deck. The given state is not modified.
+     */
+    public EndgameResult solve(SearchState position) {
+        if (position.getDeckRemaining() != 0) {
+            throw new IllegalArgumentException("Endgame solver needs an empty deck");
+        }
+        nodes = 0;
+        stack[0].copyFrom(position);
+        int value = search(0, -INFINITY, INFINITY);
+
+        // Walk the principal variation. The root entry is always stored last, so it survives
+        // collisions below it; later steps are answered by the table or a small re-search.
+        SearchState current = stack[0];
+        int length = 0;
+        while (length < MAX_PLIES) {
+            int move = storedMove(current);
+            if (move == NO_MOVE) {
+                break;
+            }
+            line[length++] = move;
+            current.play(move);
+            if (current.isOver()) {
+                break;
+            }
+            search(0, -INFINITY, INFINITY);
+        }
+        int bestMove = length > 0 ? line[0] : NO_MOVE;
+
+        return new EndgameResult(bestMove, value, current.getWinner(),
+                current.getScore(0), current.getScore(1), Arrays.copyOf(line, length), nodes);
+    }
+
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(entries, 0L);
+    }
+
+    private int search(int ply, int alpha, int beta) {
+        nodes++;
+        SearchState state = stack[ply];
+        if (state.isOver() || ply == MAX_PLIES) {
+            return evaluate(state);
+        }
+
+        long key = hash(state);
+        int slot = (int) key & tableMask;
+        int tableMove = NO_MOVE;
+        if (keys[slot] == key) {
+            long entry = entries[slot];
+            int storedValue = (short) entry;
+            int bound = (int) (entry >>> 16) & 3;
+            if (bound == EXACT) {
+                return storedValue;
+            }
+            if (bound == LOWER_BOUND) {
+                alpha = Math.max(alpha, storedValue);
+            } else {
+                beta = Math.min(beta, storedValue);
+            }
+            if (alpha >= beta) {
+                return storedValue;
+            }
+            tableMove = (int) (entry >>> 32);
+        }
+
+        MoveList moves = moveLists[ply];
+        int count = state.generateMoves(moves);
+        if (count == 0) {
+            return evaluate(state);
+        }
+        if (tableMove != NO_MOVE && !moves.contains(tableMove)) {
+            tableMove = NO_MOVE;
+        }
+
+        boolean maximizing = state.getTurn() == 0;
+        int originalAlpha = alpha;
+        int originalBeta = beta;
+        int best = maximizing ? -INFINITY : INFINITY;
+        int bestMove = NO_MOVE;
+        SearchState child = stack[ply + 1];
+
+        // Try the remembered best move first
+        for (int i = tableMove == NO_MOVE ? 0 : -1; i < count; i++) {
+            int move = i < 0 ? tableMove : moves.get(i);
+            if (i >= 0 && move == tableMove) {
+                continue;
+            }
+            child.copyFrom(state);
+            child.play(move);
+            int value = search(ply + 1, alpha, beta);
+
+            if (maximizing ? value > best : value < best) {
+                best = value;
+                bestMove = move;
+            }
+            if (maximizing) {
+                alpha = Math.max(alpha, value);
+            } else {
+                beta = Math.min(beta, value);
+            }
+            if (alpha >= beta) {
+                break;
+            }
+        }
+
+        int bound = best <= originalAlpha ? UPPER_BOUND : best >= originalBeta ? LOWER_BOUND : EXACT;
+        keys[slot] = key;
+        entries[slot] = (best & 0xFFFFL) | ((long) bound << 16) | ((long) bestMove << 32);
+        return best;
+    }
+
+    private int storedMove(SearchState state) {
+        long key = hash(state);
+        int slot = (int) key & tableMask;
+        return keys[slot] == key ? (int) (entries[slot] >>> 32) : NO_MOVE;
+    }
+
+    private static int evaluate(SearchState state) {
+        int margin = state.getScore(0) - state.getScore(1);
+        int winner = state.isOver() ? state.getWinner() : SearchState.NO_SEAT;
+        if (winner == 0) {
+            return WIN_VALUE + margin;
+        }
+        if (winner == 1) {
+            return -WIN_VALUE + margin;
+        }
+        return margin;
+    }
+
+    // Everything that affects the outcome once the deck is empty, mixed down to 64 bits.
+    private static long hash(SearchState state) {
+        long hands = ((long) state.getHand(0) << 32) | (state.getHand(1) & 0xFFFFFFFFL);
+        long rest = ((long) state.getTrickMask() << 32)
+                | (long) state.getScore(0)
+                | (long) state.getScore(1) << 4
+                | (long) state.getTurn() << 8
+                | (long) (state.getLeaderSeat() + 1) << 10
+                | (long) (state.getLastMatchingSeat() + 1) << 12
+                | (long) (state.getLastTrickWinner() + 1) << 14
+                | (long) (state.getLeadingRank() + 1) << 16
+                | (long) state.getTrickSize() << 20
+                | (long) state.getLeaderCount() << 26;
+        return mix(hands) ^ Long.rotateLeft(mix(rest), 31);
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,255 @@
+package hr.bmestric.sevens.ai;
+
+import hr.bmestric.sevens.ai.interfaces.IBotPlayer;
+import hr.bmestric.sevens.engine.Move;
+import hr.bmestric.sevens.engine.MoveList;
+import hr.bmestric.sevens.model.GameState;
+import hr.bmestric.sevens.model.Player;
+import hr.bmestric.sevens.util.ThreadingHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Single-observer information-set MCTS player. Each iteration deals the cards this player
+ * cannot see (opponent's hand and the undrawn deck) at random, walks the tree through moves
+ * legal in that deal and finishes with a random rollout on a {@link SearchState}.
+ * Workers search independent trees in parallel until the time budget runs out and their
+ * root visit counts are summed. Once the deck is empty the position is solved exactly
+ * by an {@link EndgameSolver} instead. Trees follow the moves reported through
+ * {@link #onMovePlayed(String, int)}, so callers must report every move of the game or
+ * call {@link #reset()}.
+ */
+public class IsmctsBot implements IBotPlayer {
+    private static final Logger logger = LoggerFactory.getLogger(IsmctsBot.class);
+
+    private final String playerId;
+    private final IsmctsConfig config;
+    private final Worker[] workers;
+    private final List<Worker> tasks;
+    private final ExecutorService executor;
+    private final SearchState root;
+    private final MoveList rootMoves;
+    private final SplittableRandom endgameRandom;
+    private EndgameSolver endgameSolver;
+    private String gameId;
+    private String[] seatIds;
+
+    public IsmctsBot(String playerId, IsmctsConfig config) {
+        this(playerId, config, new SplittableRandom());
+    }
+
+    public IsmctsBot(String playerId, IsmctsConfig config, long seed) {
+        this(playerId, config, new SplittableRandom(seed));
+    }
+
+    private IsmctsBot(String playerId, IsmctsConfig config, SplittableRandom seedSource) {
+        if (playerId == null) {
+            throw new IllegalArgumentException("Player ID cannot be null");
+        }
+        this.playerId = playerId;
+        this.config = config;
+        this.root = new SearchState();
+        this.rootMoves = new MoveList();
+        this.workers = new Worker[config.getWorkerCount()];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Worker(root, config, seedSource.split());
+        }
+        this.tasks = List.of(workers);
+        this.endgameRandom = seedSource.split();
+        // A single worker searches on the caller's thread
+        this.executor = workers.length > 1
+                ? ThreadingHelper.createFixedThreadPool(workers.length, "IsmctsBot")
+                : null;
+        logger.info("ISMCTS bot for {} created: {}", playerId, config);
+    }
+
+    @Override
+    public String getPlayerId() {
+        return playerId;
+    }
+
+    @Override
+    public synchronized int chooseMove(GameState state) {
+        int seat = seatOf(state);
+        if (!playerId.equals(state.getCurrentTurnPlayerId())) {
+            throw new IllegalStateException("It is not " + playerId + "'s turn");
+        }
+        if (!state.getGameId().equals(gameId)) {
+            reset();
+            gameId = state.getGameId();
+        }
+        List<Player> players = state.getPlayers();
+        seatIds = new String[]{players.get(0).getId(), players.get(1).getId()};
+
+        root.load(state, seat);
+        int count = root.generateMoves(rootMoves);
+        if (count == 0) {
+            throw new IllegalStateException("No legal moves for " + playerId);
+        }
+        if (count == 1) {
+            return rootMoves.get(0);
+        }
+        if (root.getDeckRemaining() == 0) {
+            int solved = solveEndgame();
+            if (solved != EndgameSolver.NO_MOVE) {
+                return solved;
+            }
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + config.getTimeBudgetMillis() * 1_000_000L;
+        for (Worker worker : workers) {
+            worker.deadline = deadline;
+        }
+        long iterations = search();
+
+        int best = rootMoves.get(0);
+        long bestVisits = -1;
+        double bestReward = 0;
+        for (int i = 0; i < count; i++) {
+            int move = rootMoves.get(i);
+            long visits = 0;
+            double reward = 0;
+            for (Worker worker : workers) {
+                visits += worker.tree.rootVisits(move, seat);
+                reward += worker.tree.rootReward(move, seat);
+            }
+            if (visits > bestVisits || (visits == bestVisits && reward > bestReward)) {
+                best = move;
+                bestVisits = visits;
+                bestReward = reward;
+            }
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("{} chose {} after {} iterations in {} ms (visits {}, win rate {})",
+                    playerId, Move.toString(best), iterations, (System.nanoTime() - start) / 1_000_000,
+                    bestVisits, bestVisits > 0 ? String.format("%.3f", bestReward / bestVisits) : "n/a");
+        }
+        return best;
+    }
+
+    // With the deck empty the unseen cards are exactly the opponent's hand, so one deal is the real position.
+    private int solveEndgame() {
+        if (endgameSolver == null) {
+            endgameSolver = new EndgameSolver();
+        }
+        SearchState position = new SearchState();
+        position.determinize(root, endgameRandom);
+        EndgameResult result = endgameSolver.solve(position);
+        logger.debug("{} solved endgame: {}", playerId, result);
+        return result.getBestMove();
+    }
+
+    private long search() {
+        if (executor == null) {
+            return workers[0].call();
+        }
+        long iterations = 0;
+        try {
+            for (Future<Integer> result : executor.invokeAll(tasks)) {
+                iterations += result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Search interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search failed", e.getCause());
+        }
+        return iterations;
+    }
+
+    private int seatOf(GameState state) {
+        int seat = state.seatOf(playerId);
+        if (seat != SearchState.NO_SEAT) {
+            return seat;
+        }
+        throw new IllegalArgumentException("Player " + playerId + " is not in game " + state.getGameId());
+    }
+
+    @Override
+    public synchronized void onMovePlayed(String moverId, int move) {
+        if (seatIds == null) {
+            return;
+        }
+        int seat = seatIds[0].equals(moverId) ? 0 : seatIds[1].equals(moverId) ? 1 : SearchState.NO_SEAT;
+        if (seat == SearchState.NO_SEAT) {
+            return;
+        }
+        for (Worker worker : workers) {
+            worker.tree.advance(move, seat);
+        }
+    }
+
+    @Override
+    public synchronized void reset() {
+        for (Worker worker : workers) {
+            worker.tree.reset();
+        }
+        gameId = null;
+        seatIds = null;
+    }
+
+    @Override
+    public void shutdown() {
+        if (executor != null) {
+            ThreadingHelper.shutdownGracefully(executor, 5);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "IsmctsBot{playerId='" + playerId + "', workers=" + workers.length
+                + ", treeSizes=" + Arrays.toString(Arrays.stream(workers).mapToInt(w -> w.tree.getSize()).toArray()) + '}';
+    }
+
+    // Per-thread search state; nothing here is shared except the read-only root.
+    private static final class Worker implements Callable<Integer> {
+        private final SearchState root;
+        private final SearchTree tree;
+        private final SearchState state;
+        private final MoveList moves;
+        private final SplittableRandom random;
+        private final double exploration;
+        private final int maxIterations;
+        private final int maxRolloutMoves;
+        private volatile long deadline;
+
+        private Worker(SearchState root, IsmctsConfig config, SplittableRandom random) {
+            this.root = root;
+            this.tree = new SearchTree(config.getNodesPerWorker());
+            this.state = new SearchState();
+            this.moves = new MoveList();
+            this.random = random;
+            this.exploration = config.getExploration();
+            this.maxIterations = config.getMaxIterations();
+            this.maxRolloutMoves = config.getMaxRolloutMoves();
+        }
+
+        @Override
+        public Integer call() {
+            int iterations = 0;
+            while (true) {
+                state.determinize(root, random);
+                tree.iterate(state, moves, random, exploration, maxRolloutMoves);
+                iterations++;
+                if (maxIterations > 0 && iterations >= maxIterations) {
+                    break;
+                }
+                // Checking the clock every few iterations keeps it out of the hot loop
+                if ((iterations & 15) == 0 && System.nanoTime() - deadline >= 0) {
+                    break;
+                }
+            }
+            return iterations;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package hr.bmestric.sevens.ai;
+
+/**
+ * Search settings for {@link IsmctsBot}. The time budget bounds each decision; the
+ * iteration limit, when positive, bounds it too and makes single-threaded runs repeatable.
+ */
+public final class IsmctsConfig {
+    private static final long DEFAULT_TIME_BUDGET_MILLIS = 1000;
+    private static final double DEFAULT_EXPLORATION = 0.7;
+    private static final int DEFAULT_NODES_PER_WORKER = 1 << 18;
+    private static final int DEFAULT_MAX_ROLLOUT_MOVES = 500;
+
+    private final long timeBudgetMillis;
+    private final int maxIterations;
+    private final int workerCount;
+    private final double exploration;
+    private final int nodesPerWorker;
+    private final int maxRolloutMoves;
+
+    public IsmctsConfig(long timeBudgetMillis, int maxIterations, int workerCount, double exploration,
+                        int nodesPerWorker, int maxRolloutMoves) {
+        if (timeBudgetMillis <= 0) {
+            throw new IllegalArgumentException("Time budget must be positive");
+        }
+        if (workerCount <= 0) {
+            throw new IllegalArgumentException("Worker count must be positive");
+        }
+        if (nodesPerWorker <= 1) {
+            throw new IllegalArgumentException("Each worker needs room for more than one node");
+        }
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.maxIterations = maxIterations;
+        this.workerCount = workerCount;
+        this.exploration = exploration;
+        this.nodesPerWorker = nodesPerWorker;
+        this.maxRolloutMoves = maxRolloutMoves;
+    }
+
+    public static IsmctsConfig defaults() {
+        return withTimeBudget(DEFAULT_TIME_BUDGET_MILLIS);
+    }
+
+    public static IsmctsConfig withTimeBudget(long timeBudgetMillis) {
+        return new IsmctsConfig(timeBudgetMillis, 0, Runtime.getRuntime().availableProcessors(),
+                DEFAULT_EXPLORATION, DEFAULT_NODES_PER_WORKER, DEFAULT_MAX_ROLLOUT_MOVES);
+    }
+
+    public long getTimeBudgetMillis() {
+        return timeBudgetMillis;
+    }
+
+    public int getMaxIterations() {
+        return maxIterations;
+    }
+
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
+    public double getExploration() {
+        return exploration;
+    }
+
+    public int getNodesPerWorker() {
+        return nodesPerWorker;
+    }
+
+    public int getMaxRolloutMoves() {
+        return maxRolloutMoves;
+    }
+
+    @Override
+    public String toString() {
+        return "IsmctsConfig{timeBudgetMillis=" + timeBudgetMillis +
+                ", maxIterations=" + maxIterations +
+                ", workerCount=" + workerCount +
+                ", exploration=" + exploration +
+                ", nodesPerWorker=" + nodesPerWorker + '}';
+    }
+}
@@ -0,0 +1,182 @@
+package hr.bmestric.sevens.ai;
+
+import hr.bmestric.sevens.engine.GameRules;
+import hr.bmestric.sevens.model.CardSet;
+import hr.bmestric.sevens.model.Hand;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Win rates of every possible opening hand, precomputed by simulation. There are
+ * C(32, 4) = 35,960 four-card hands; each one is numbered by its combinatorial rank and
+ * stores two unsigned 16-bit win rates, for the seat that leads first and for the other.
+ * The table is memory mapped, so lookups are a single buffer read. Immutable and thread-safe.
+ */
+public final class OpeningTable {
+    private static final Logger logger = LoggerFactory.getLogger(OpeningTable.class);
+
+    public static final String RESOURCE = "/hr/bmestric/sevens/ai/opening-hands.bin";
+    public static final int HAND_COUNT = 35_960;
+
+    private static final int MAGIC = 0x5345564F;
+    private static final int VERSION = 1;
+    // magic, version, games per hand and seat, seed
+    private static final int HEADER_BYTES = 20;
+    private static final int ENTRY_BYTES = 4;
+    private static final int TABLE_BYTES = HEADER_BYTES + HAND_COUNT * ENTRY_BYTES;
+    private static final double SCALE = 65_535.0;
+
+    private static final int HAND_SIZE = GameRules.INITIAL_HAND_SIZE;
+    // BINOMIAL[n][k] = n choose k, for the combinatorial number system
+    private static final int[][] BINOMIAL = new int[CardSet.DECK_SIZE + 1][HAND_SIZE + 1];
+
+    static {
+        for (int n = 0; n <= CardSet.DECK_SIZE; n++) {
+            BINOMIAL[n][0] = 1;
+            for (int k = 1; k <= Math.min(n, HAND_SIZE); k++) {
+                BINOMIAL[n][k] = BINOMIAL[n - 1][k - 1] + (k < n ? BINOMIAL[n - 1][k] : 0);
+            }
+        }
+    }
+
+    private final ByteBuffer table;
+    private final int gamesPerHand;
+    private final long seed;
+
+    private OpeningTable(ByteBuffer table) {
+        if (table.capacity() != TABLE_BYTES || table.getInt(0) != MAGIC || table.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not an opening table (version " + VERSION + ")");
+        }
+        this.table = table;
+        this.gamesPerHand = table.getInt(8);
+        this.seed = table.getLong(12);
+    }
+
+    private static final class DefaultHolder {
+        private static final OpeningTable INSTANCE = loadResource();
+    }
+
+    // The table shipped with the game, loaded on first use.
+    public static OpeningTable getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    public static OpeningTable load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new OpeningTable(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Writes a table in the format load() reads. winRates holds two values per hand index,
+     * seat 0 first, each between 0 and 1.
+     */
+    public static void write(Path file, int gamesPerHand, long seed, double[] winRates) throws IOException {
+        if (winRates.length != HAND_COUNT * 2) {
+            throw new IllegalArgumentException("Expected " + HAND_COUNT * 2 + " win rates, got " + winRates.length);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(TABLE_BYTES);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(gamesPerHand).putLong(seed);
+        for (double winRate : winRates) {
+            buffer.putShort((short) Math.round(Math.clamp(winRate, 0.0, 1.0) * SCALE));
+        }
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    private static OpeningTable loadResource() {
+        URL url = OpeningTable.class.getResource(RESOURCE);
+        if (url == null) {
+            throw new IllegalStateException("Opening table resource not found: " + RESOURCE);
+        }
+        try {
+            OpeningTable loaded;
+            if ("file".equals(url.getProtocol())) {
+                loaded = load(Path.of(url.toURI()));
+            } else {
+                // Inside a jar there is no file to map; the table is small enough to read once
+                try (InputStream in = url.openStream()) {
+                    loaded = new OpeningTable(ByteBuffer.wrap(in.readAllBytes()));
+                }
+            }
+            logger.info("Loaded opening table: {} hands, {} games per hand and seat",
+                    HAND_COUNT, loaded.gamesPerHand);
+            return loaded;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read opening table", e);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Cannot locate opening table", e);
+        }
+    }
+
+    /**
+     * Position of a four-card hand in the table: the sum of C(card, k) over its cards
+     * in ascending index order, k = 1..4. Every hand gets a distinct index below HAND_COUNT.
+     */
+    public static int indexOf(int handMask) {
+        if (Integer.bitCount(handMask) != HAND_SIZE) {
+            throw new IllegalArgumentException("Opening hand must have " + HAND_SIZE + " cards");
+        }
+        int index = 0;
+        int k = 1;
+        for (int bits = handMask; bits != 0; bits &= bits - 1) {
+            index += BINOMIAL[Integer.numberOfTrailingZeros(bits)][k++];
+        }
+        return index;
+    }
+
+    // Inverse of indexOf().
+    public static int handAt(int index) {
+        if (index < 0 || index >= HAND_COUNT) {
+            throw new IllegalArgumentException("Hand index out of range: " + index);
+        }
+        int mask = CardSet.EMPTY_MASK;
+        int remaining = index;
+        int card = CardSet.DECK_SIZE;
+        for (int k = HAND_SIZE; k >= 1; k--) {
+            do {
+                card--;
+            } while (BINOMIAL[card][k] > remaining);
+            mask |= 1 << card;
+            remaining -= BINOMIAL[card][k];
+        }
+        return mask;
+    }
+
+    // Chance the seat wins when dealt this hand; seat 0 leads the first trick.
+    public double winRate(Hand hand, int seat) {
+        return winRate(hand.getMask(), seat);
+    }
+
+    public double winRate(int handMask, int seat) {
+        if (seat != 0 && seat != 1) {
+            throw new IllegalArgumentException("Seat must be 0 or 1: " + seat);
+        }
+        int offset = HEADER_BYTES + indexOf(handMask) * ENTRY_BYTES + seat * 2;
+        return Short.toUnsignedInt(table.getShort(offset)) / SCALE;
+    }
+
+    public int getGamesPerHand() {
+        return gamesPerHand;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+}
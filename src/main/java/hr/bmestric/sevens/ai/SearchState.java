@@ -0,0 +1,308 @@
+package hr.bmestric.sevens.ai;
+
+import hr.bmestric.sevens.engine.GameRules;
+import hr.bmestric.sevens.engine.Move;
+import hr.bmestric.sevens.engine.MoveList;
+import hr.bmestric.sevens.engine.MoveValidator;
+import hr.bmestric.sevens.model.Card;
+import hr.bmestric.sevens.model.CardSet;
+import hr.bmestric.sevens.model.GameState;
+import hr.bmestric.sevens.model.Player;
+import hr.bmestric.sevens.model.Trick;
+import hr.bmestric.sevens.model.enums.Rank;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Primitive, mutable copy of a game position for search. Seats are 0 and 1 in
+ * {@link GameState#getPlayers()} order and every field is an int, so copying, determinizing
+ * and playing out a position never allocates. Transitions mirror {@link GameRules} and must
+ * be kept in step with it. Not thread-safe; each search worker owns its instances.
+ */
+public final class SearchState {
+    public static final int NO_SEAT = -1;
+
+    private static final int NO_RANK = -1;
+    private static final Rank[] RANKS = Rank.values();
+    private static final int[] RANK_OF = new int[CardSet.DECK_SIZE];
+
+    static {
+        for (int i = 0; i < CardSet.DECK_SIZE; i++) {
+            RANK_OF[i] = Card.fromIndex(i).getRank().ordinal();
+        }
+    }
+
+    private final int[] hands = new int[2];
+    private final int[] scores = new int[2];
+    // Undrawn cards in draw order; deck[deckPos..deckSize) is still in the deck
+    private final int[] deck = new int[CardSet.DECK_SIZE];
+    private int deckSize;
+    private int deckPos;
+
+    private int trickMask;
+    private int trickSize;
+    private int leadingRank = NO_RANK;
+    private int leaderSeat = NO_SEAT;
+    private int leaderCount;
+    private int lastMatchingSeat = NO_SEAT;
+
+    private int turn;
+    private int lastTrickWinner = NO_SEAT;
+    private boolean over;
+
+    // Public information for determinization, set by load()
+    private int observer;
+    private int unseenMask;
+    private int opponentHandSize;
+    private final int[] scratch = new int[CardSet.DECK_SIZE];
+
+    /**
+     * Loads the position as seen by the given seat: the observer's hand, the trick, scores
+     * and turn are copied; the opponent's hand and the deck are merged into one unseen set
+     * to be dealt by {@link #determinize(SearchState, RandomGenerator)}.
+     */
+    public void load(GameState state, int observerSeat) {
+        List<Player> players = state.getPlayers();
+        int opponentSeat = 1 - observerSeat;
+
+        observer = observerSeat;
+        hands[observerSeat] = players.get(observerSeat).getHand().getMask();
+        hands[opponentSeat] = CardSet.EMPTY_MASK;
+        opponentHandSize = players.get(opponentSeat).getHand().size();
+        unseenMask = state.getUnseenMask(observerSeat);
+        scores[0] = players.get(0).getScore();
+        scores[1] = players.get(1).getScore();
+        deckSize = state.getDeck().remaining();
+        deckPos = 0;
+
+        Trick trick = state.getTrick();
+        trickMask = trick.getMask();
+        trickSize = trick.size();
+        leadingRank = trick.hasCards() ? trick.getLeadingRank().ordinal() : NO_RANK;
+        leaderSeat = trick.getLeaderSeat();
+        leaderCount = trick.getLeadingPlayerCardCount();
+        lastMatchingSeat = trick.getLastMatchingOrTrumpSeat();
+
+        turn = state.getCurrentTurnSeat();
+        lastTrickWinner = state.getLastTrickWinnerSeat();
+        over = state.isGameOver();
+    }
+
+    // Loads the position with the opponent's hand and the deck order as they really are, for analysis and solving.
+    public void loadComplete(GameState state) {
+        load(state, 0);
+        hands[1] = state.getPlayers().get(1).getHand().getMask();
+        List<Card> deckCards = state.getDeck().getCards();
+        for (int i = 0; i < deckCards.size(); i++) {
+            deck[i] = deckCards.get(i).getIndex();
+        }
+    }
+
+    public void copyFrom(SearchState other) {
+        hands[0] = other.hands[0];
+        hands[1] = other.hands[1];
+        scores[0] = other.scores[0];
+        scores[1] = other.scores[1];
+        System.arraycopy(other.deck, other.deckPos, deck, other.deckPos, other.deckSize - other.deckPos);
+        deckSize = other.deckSize;
+        deckPos = other.deckPos;
+        trickMask = other.trickMask;
+        trickSize = other.trickSize;
+        leadingRank = other.leadingRank;
+        leaderSeat = other.leaderSeat;
+        leaderCount = other.leaderCount;
+        lastMatchingSeat = other.lastMatchingSeat;
+        turn = other.turn;
+        lastTrickWinner = other.lastTrickWinner;
+        over = other.over;
+        observer = other.observer;
+        unseenMask = other.unseenMask;
+        opponentHandSize = other.opponentHandSize;
+    }
+
+    // Copies a loaded root and deals its unseen cards at random into the opponent's hand and the deck.
+    public void determinize(SearchState root, RandomGenerator random) {
+        copyFrom(root);
+        int count = 0;
+        for (int bits = unseenMask; bits != 0; bits &= bits - 1) {
+            scratch[count++] = Integer.numberOfTrailingZeros(bits);
+        }
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int card = scratch[i];
+            scratch[i] = scratch[j];
+            scratch[j] = card;
+        }
+
+        int opponentHand = CardSet.EMPTY_MASK;
+        for (int i = 0; i < opponentHandSize; i++) {
+            opponentHand |= 1 << scratch[i];
+        }
+        hands[1 - observer] = opponentHand;
+        deckPos = 0;
+        deckSize = count - opponentHandSize;
+        System.arraycopy(scratch, opponentHandSize, deck, 0, deckSize);
+    }
+
+    public int generateMoves(MoveList moves) {
+        moves.clear();
+        if (over) {
+            return 0;
+        }
+        MoveValidator.generateMoves(hands[turn],
+                leadingRank == NO_RANK ? null : RANKS[leadingRank],
+                leaderCount,
+                trickSize - leaderCount,
+                turn == leaderSeat,
+                moves);
+        return moves.size();
+    }
+
+    // Applies a legal move for the seat to move, as GameRules.playMove does.
+    public void play(int move) {
+        if (Move.isPass(move)) {
+            resolveTrick();
+            return;
+        }
+
+        int count = Integer.bitCount(move);
+        hands[turn] &= ~move;
+        trickMask |= move;
+        trickSize += count;
+        if (leadingRank == NO_RANK) {
+            leadingRank = RANK_OF[Integer.numberOfTrailingZeros(move)];
+            leaderSeat = turn;
+        }
+        if (turn == leaderSeat) {
+            leaderCount += count;
+        }
+        int takingMask = CardSet.matchingOrTrumpMask(leadingRank);
+        boolean taken = (move & takingMask) != 0;
+        if (taken) {
+            lastMatchingSeat = turn;
+        }
+
+        if (isTrickComplete(taken, takingMask)) {
+            resolveTrick();
+            return;
+        }
+        // Mirrors GameRules.switchTurn
+        turn = trickSize - leaderCount < leaderCount ? 1 - leaderSeat : leaderSeat;
+    }
+
+    private boolean isTrickComplete(boolean taken, int takingMask) {
+        if (trickSize < 2 || trickSize - leaderCount < leaderCount) {
+            return false;
+        }
+        return !taken || (hands[leaderSeat] & takingMask) == 0;
+    }
+
+    private void resolveTrick() {
+        int winner = lastMatchingSeat != NO_SEAT ? lastMatchingSeat : leaderSeat;
+        scores[winner] += CardSet.points(trickMask);
+        lastTrickWinner = winner;
+
+        trickMask = CardSet.EMPTY_MASK;
+        trickSize = 0;
+        leadingRank = NO_RANK;
+        leaderSeat = NO_SEAT;
+        leaderCount = 0;
+        lastMatchingSeat = NO_SEAT;
+
+        refill(winner);
+        refill(1 - winner);
+        checkGameEnd();
+        turn = winner;
+    }
+
+    private void refill(int seat) {
+        while (Integer.bitCount(hands[seat]) < GameRules.INITIAL_HAND_SIZE && deckPos < deckSize) {
+            hands[seat] |= 1 << deck[deckPos++];
+        }
+    }
+
+    private void checkGameEnd() {
+        int limit = GameRules.WINNING_SCORE;
+        over = (scores[0] > limit) != (scores[1] > limit)
+                || (scores[0] == limit && scores[1] == limit)
+                || (deckPos == deckSize && hands[0] == CardSet.EMPTY_MASK && hands[1] == CardSet.EMPTY_MASK);
+    }
+
+    // Winning seat as GameState.getWinner() decides it, or NO_SEAT.
+    public int getWinner() {
+        int limit = GameRules.WINNING_SCORE;
+        if (scores[0] > limit && scores[1] <= limit) {
+            return 0;
+        }
+        if (scores[1] > limit && scores[0] <= limit) {
+            return 1;
+        }
+        if (scores[0] == limit && scores[1] == limit) {
+            return lastTrickWinner;
+        }
+        return NO_SEAT;
+    }
+
+    public boolean isOver() {
+        return over;
+    }
+
+    public int getTurn() {
+        return turn;
+    }
+
+    public int getObserver() {
+        return observer;
+    }
+
+    public int getHand(int seat) {
+        return hands[seat];
+    }
+
+    public int getScore(int seat) {
+        return scores[seat];
+    }
+
+    public int getDeckRemaining() {
+        return deckSize - deckPos;
+    }
+
+    public int getTrickMask() {
+        return trickMask;
+    }
+
+    public int getTrickSize() {
+        return trickSize;
+    }
+
+    // Ordinal of the leading rank, or -1 when the trick is empty.
+    public int getLeadingRank() {
+        return leadingRank;
+    }
+
+    public int getLeaderSeat() {
+        return leaderSeat;
+    }
+
+    public int getLeaderCount() {
+        return leaderCount;
+    }
+
+    public int getLastMatchingSeat() {
+        return lastMatchingSeat;
+    }
+
+    public int getLastTrickWinner() {
+        return lastTrickWinner;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchState{hands=" + CardSet.toList(hands[0]) + '/' + CardSet.toList(hands[1])
+                + ", scores=" + scores[0] + '/' + scores[1]
+                + ", trick=" + CardSet.toList(trickMask)
+                + ", deck=" + getDeckRemaining()
+                + ", turn=" + turn + '}';
+    }
+}
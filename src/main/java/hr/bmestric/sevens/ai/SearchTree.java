@@ -0,0 +1,198 @@
+package hr.bmestric.sevens.ai;
+
+import hr.bmestric.sevens.engine.MoveList;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Information-set search tree stored in parallel primitive arrays. A node is reached by a
+ * move and records the seat that made it; children form a singly linked list. Node storage
+ * is allocated once, so iterations never allocate; when the pool is full the tree stops
+ * growing and iterations fall back to rollouts from the deepest node reached.
+ * Not thread-safe; each search worker owns one tree.
+ */
+final class SearchTree {
+    static final int NONE = -1;
+    private static final int MAX_DEPTH = 512;
+
+    private final int capacity;
+    private final int[] move;
+    private final byte[] mover;
+    private final int[] firstChild;
+    private final int[] nextSibling;
+    private final int[] visits;
+    private final int[] availability;
+    private final float[] reward;
+    private final int[] path = new int[MAX_DEPTH];
+    private int size;
+    private int root;
+
+    SearchTree(int capacity) {
+        this.capacity = capacity;
+        this.move = new int[capacity];
+        this.mover = new byte[capacity];
+        this.firstChild = new int[capacity];
+        this.nextSibling = new int[capacity];
+        this.visits = new int[capacity];
+        this.availability = new int[capacity];
+        this.reward = new float[capacity];
+        reset();
+    }
+
+    void reset() {
+        size = 0;
+        root = newNode(NONE, 0, SearchState.NO_SEAT);
+    }
+
+    int getRoot() {
+        return root;
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    private int newNode(int parent, int nodeMove, int seat) {
+        if (size == capacity) {
+            return NONE;
+        }
+        int node = size++;
+        move[node] = nodeMove;
+        mover[node] = (byte) seat;
+        firstChild[node] = NONE;
+        visits[node] = 0;
+        availability[node] = 1;
+        reward[node] = 0f;
+        if (parent != NONE) {
+            nextSibling[node] = firstChild[parent];
+            firstChild[parent] = node;
+        } else {
+            nextSibling[node] = NONE;
+        }
+        return node;
+    }
+
+    int findChild(int parent, int childMove, int seat) {
+        for (int child = firstChild[parent]; child != NONE; child = nextSibling[child]) {
+            if (move[child] == childMove && mover[child] == seat) {
+                return child;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Re-roots the tree at the child reached by an observed move so the statistics gathered
+     * below it are kept for the next search. Falls back to an empty tree when the move was
+     * never explored or most of the pool is already used.
+     */
+    void advance(int observedMove, int seat) {
+        int child = findChild(root, observedMove, seat);
+        if (child == NONE || size > capacity - capacity / 4) {
+            reset();
+            return;
+        }
+        root = child;
+    }
+
+    /**
+     * One iteration: descends from the root through moves legal in the determinized state,
+     * expands one untried move, plays the rest of the game at random and backs the result up.
+     */
+    void iterate(SearchState state, MoveList moves, RandomGenerator random, double exploration, int maxRolloutMoves) {
+        int depth = 0;
+        int node = root;
+        path[depth++] = node;
+
+        while (!state.isOver() && depth < MAX_DEPTH) {
+            int count = state.generateMoves(moves);
+            if (count == 0) {
+                break;
+            }
+            int seat = state.getTurn();
+
+            int untried = 0;
+            for (int i = 0; i < count; i++) {
+                if (findChild(node, moves.get(i), seat) == NONE) {
+                    untried++;
+                }
+            }
+
+            if (untried > 0) {
+                int pick = random.nextInt(untried);
+                int chosen = 0;
+                for (int i = 0; i < count; i++) {
+                    int candidate = moves.get(i);
+                    if (findChild(node, candidate, seat) == NONE && pick-- == 0) {
+                        chosen = candidate;
+                        break;
+                    }
+                }
+                int child = newNode(node, chosen, seat);
+                state.play(chosen);
+                if (child != NONE) {
+                    path[depth++] = child;
+                }
+                break;
+            }
+
+            int child = select(node, seat, moves, exploration);
+            state.play(move[child]);
+            node = child;
+            path[depth++] = node;
+        }
+
+        rollout(state, moves, random, maxRolloutMoves);
+
+        int winner = state.isOver() ? state.getWinner() : SearchState.NO_SEAT;
+        for (int i = 0; i < depth; i++) {
+            int n = path[i];
+            visits[n]++;
+            int seat = mover[n];
+            if (seat == SearchState.NO_SEAT) {
+                continue;
+            }
+            reward[n] += winner == SearchState.NO_SEAT ? 0.5f : winner == seat ? 1f : 0f;
+        }
+    }
+
+    // UCB over the children that are legal in this determinization; each of them counts one more availability.
+    private int select(int node, int seat, MoveList moves, double exploration) {
+        int best = NONE;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            if (mover[child] != seat || !moves.contains(move[child])) {
+                continue;
+            }
+            availability[child]++;
+            double score = reward[child] / visits[child]
+                    + exploration * Math.sqrt(Math.log(availability[child]) / visits[child]);
+            if (score > bestScore) {
+                bestScore = score;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    private static void rollout(SearchState state, MoveList moves, RandomGenerator random, int maxMoves) {
+        for (int i = 0; i < maxMoves && !state.isOver(); i++) {
+            int count = state.generateMoves(moves);
+            if (count == 0) {
+                return;
+            }
+            state.play(moves.get(random.nextInt(count)));
+        }
+    }
+
+    // Visits of the root child for the given move and seat, 0 when unexplored.
+    int rootVisits(int childMove, int seat) {
+        int child = findChild(root, childMove, seat);
+        return child == NONE ? 0 : visits[child];
+    }
+
+    float rootReward(int childMove, int seat) {
+        int child = findChild(root, childMove, seat);
+        return child == NONE ? 0f : reward[child];
+    }
+}
@@ -0,0 +1,18 @@
+package hr.bmestric.sevens.ai.interfaces;
+
+import hr.bmestric.sevens.model.GameState;
+
+public interface IBotPlayer {
+    String getPlayerId();
+
+    // Returns an encoded Move (Move.PASS to pass) that is legal for this player in the given state.
+    int chooseMove(GameState state);
+
+    // Called for every move applied to the game, including the bot's own, so search trees can be reused.
+    void onMovePlayed(String playerId, int move);
+
+    // Drops everything learned about the current game, e.g. after a restart or restore.
+    void reset();
+
+    void shutdown();
+}
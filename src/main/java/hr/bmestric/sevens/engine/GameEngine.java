@@ -3,6 +3,11 @@ package hr.bmestric.sevens.engine;
 import hr.bmestric.sevens.engine.interfaces.IGameEngine;
 import hr.bmestric.sevens.engine.interfaces.IMoveValidator;
 import hr.bmestric.sevens.engine.interfaces.ITrickResolver;
+import hr.bmestric.sevens.events.CardPlayedEvent;
+import hr.bmestric.sevens.events.GameEvent;
+import hr.bmestric.sevens.events.StateChangedEvent;
+import hr.bmestric.sevens.events.TrickWonEvent;
+import hr.bmestric.sevens.events.interfaces.IGameEventBus;
 import hr.bmestric.sevens.model.Card;
 import hr.bmestric.sevens.model.GameState;
 import hr.bmestric.sevens.model.Player;
@@ -11,23 +16,42 @@ import hr.bmestric.sevens.model.enums.GameStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.StampedLock;
 
 public class GameEngine implements IGameEngine {
     private static final Logger logger = LoggerFactory.getLogger(GameEngine.class);
-    private static final int INITIAL_HAND_SIZE = 4;
-    private static final int WINNING_SCORE = 4;
+    private static final int WINNING_SCORE = GameRules.WINNING_SCORE;
 
     private final IMoveValidator moveValidator;
     private final ITrickResolver trickResolver;
-    private final Lock stateLock;
-
-    public GameEngine(IMoveValidator moveValidator, ITrickResolver trickResolver) {
+    // Commands take the write lock; canPlayCards() reads optimistically
+    private final StampedLock stateLock;
+    // Readers go through the published snapshot and never touch the lock or the live state
+    private final AtomicReference<StateSnapshot> publishedSnapshot;
+    // Moves of the current game, for undoLastMove()
+    private final UndoLog undoLog;
+    private long version;
+    // Null when nothing listens; events are only built for types that have listeners
+    private final IGameEventBus eventBus;
+    // Built under the write lock, published once it is released
+    private final List<GameEvent> pendingEvents;
+
+    public GameEngine(IMoveValidator moveValidator, ITrickResolver trickResolver, IGameEventBus eventBus) {
         this.moveValidator = moveValidator;
         this.trickResolver = trickResolver;
-        this.stateLock = new ReentrantLock();
+        this.eventBus = eventBus;
+        this.stateLock = new StampedLock();
+        this.publishedSnapshot = new AtomicReference<>(StateSnapshot.EMPTY);
+        this.undoLog = new UndoLog();
+        this.pendingEvents = new ArrayList<>();
+    }
+    public GameEngine(IMoveValidator moveValidator, ITrickResolver trickResolver) {
+        this(moveValidator, trickResolver, null);
     }
     public GameEngine() {
         this(new MoveValidator(), new TrickResolver());
@@ -37,7 +61,17 @@ public class GameEngine implements IGameEngine {
 
     @Override
     public void startNewGame(List<Player> players) {
-        stateLock.lock();
+        startNewGame(UUID.randomUUID().toString(), players);
+    }
+
+    // Starts a game under a caller-chosen id, e.g. a table id assigned by a GameHost.
+    public void startNewGame(String gameId, List<Player> players) {
+        startNewGame(gameId, players, ThreadLocalRandom.current().nextLong());
+    }
+
+    @Override
+    public void startNewGame(String gameId, List<Player> players, long seed) {
+        long stamp = stateLock.writeLock();
         try {
             if (players == null || players.size() != 2) {
                 throw new IllegalArgumentException("Game requires exactly 2 players");
@@ -46,228 +80,252 @@ public class GameEngine implements IGameEngine {
             logger.info("Starting new game with players: {} and {}",
                     players.get(0).getDisplayName(), players.get(1).getDisplayName());
 
-            // Create new game state
-            gameState = new GameState(players);
-
-            // Shuffle deck
-            gameState.getDeck().shuffle();
-
-            // Deal initial cards to each player
-            for (Player player : gameState.getPlayers()) {
-                player.getHand().clear();
-                player.setScore(0);
-                List<Card> initialCards = gameState.getDeck().draw(INITIAL_HAND_SIZE);
-                player.getHand().addCards(initialCards);
-                logger.debug("Dealt {} cards to player {}", initialCards.size(), player.getDisplayName());
-            }
-
-            // Set first player's turn (player 1)
-            gameState.setCurrentTurnPlayerId(players.get(0).getId());
-            gameState.setGameStatus(GameStatus.IN_PROGRESS);
+            // Create new game state with engine-owned players, shuffle and deal
+            gameState = new GameState(gameId, List.of(players.get(0).copy(), players.get(1).copy()));
+            GameRules.dealNewGame(gameState, seed);
+            undoLog.clear();
+            publishSnapshot("Game started");
 
-            logger.info("Game started. Deck has {} cards remaining", gameState.getDeck().remaining());
+            logger.info("Game started with seed {}. Deck has {} cards remaining",
+                    seed, gameState.getDeck().remaining());
         } finally {
-            stateLock.unlock();
+            unlockWrite(stamp);
         }
     }
 
     @Override
     public GameState getState() {
-        stateLock.lock();
-        try {
-            return gameState;
-        } finally {
-            stateLock.unlock();
-        }
+        return publishedSnapshot.get().getState();
     }
 
     @Override
-    public GameState playCards(String playerId, List<Card> cards) throws InvalidMoveException {
-        stateLock.lock();
-        try {
-            if (gameState == null) {
-                throw new InvalidMoveException("No active game");
-            }
-
-            if (gameState.isGameOver()) {
-                throw new InvalidMoveException("Game is already over");
-            }
+    public StateSnapshot getSnapshot() {
+        return publishedSnapshot.get();
+    }
 
-            // Validate the move
-            MoveValidationResult validation = moveValidator.validate(gameState, playerId, cards);
-            if (!validation.isValid()) {
-                throw new InvalidMoveException(validation.getReason(), playerId, cards.toString());
-            }
+    // Must be called with the write lock held, after every committed change to gameState.
+    // The state is stamped with the snapshot's version, so both count from the same monotonic counter.
+    private StateSnapshot publishSnapshot(String change) {
+        version++;
+        if (gameState != null) {
+            gameState.markModified(version);
+        }
+        StateSnapshot snapshot = new StateSnapshot(version, gameState == null ? null : gameState.copy());
+        publishedSnapshot.set(snapshot);
+        if (snapshot.getState() != null && hasListeners(StateChangedEvent.class)) {
+            pendingEvents.add(new StateChangedEvent(snapshot.getState(), change));
+        }
+        return snapshot;
+    }
 
-            logger.info("Player {} plays: {}", playerId, cards);
+    private boolean hasListeners(Class<? extends GameEvent> eventClass) {
+        return eventBus != null && eventBus.hasListeners(eventClass);
+    }
 
-            // Get the player
-            Player player = gameState.getPlayerById(playerId)
-                    .orElseThrow(() -> new InvalidMoveException("Player not found: " + playerId));
+    // Releases the write lock, then delivers the command's events, so a listener may call back into the engine.
+    // Order is kept only per writer thread; StateChangedEvent.getVersion() orders events across writers.
+    private void unlockWrite(long stamp) {
+        if (pendingEvents.isEmpty()) {
+            stateLock.unlockWrite(stamp);
+            return;
+        }
+        GameEvent[] events = pendingEvents.toArray(new GameEvent[0]);
+        pendingEvents.clear();
+        stateLock.unlockWrite(stamp);
+        for (GameEvent event : events) {
+            eventBus.publish(event);
+        }
+    }
 
-            // Remove cards from player's hand and add to trick
-            for (Card card : cards) {
-                player.getHand().removeCard(card);
-                gameState.getTrick().addCard(card, playerId);
-            }
+    @Override
+    public GameState playCards(String playerId, List<Card> cards) throws InvalidMoveException {
+        long stamp = stateLock.writeLock();
+        try {
+            requireValid(playerId, cards);
+            return commit(playerId, cards);
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
 
-            // Check if trick is complete
-            if (trickResolver.isTrickComplete(gameState.getTrick(), gameState)) {
-                resolveTrick();
-            } else {
-                // Switch turn to other player
-                switchTurn();
+    @Override
+    public MoveTicket validateMove(String playerId, List<Card> cards) {
+        List<Card> move = cards == null ? List.of() : List.copyOf(cards);
+        long stamp = stateLock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                MoveTicket ticket = issueTicket(playerId, move);
+                if (stateLock.validate(stamp)) {
+                    return ticket;
+                }
+            } catch (RuntimeException e) {
+                // A torn read, as in canPlayCards()
+                if (stateLock.validate(stamp)) {
+                    throw e;
+                }
             }
+        }
 
-            gameState.updateLastModified();
-            return gameState;
+        stamp = stateLock.readLock();
+        try {
+            return issueTicket(playerId, move);
         } finally {
-            stateLock.unlock();
+            stateLock.unlockRead(stamp);
         }
     }
 
-    private void switchTurn() {
-        Trick currentTrick = gameState.getTrick();
-
-        // Determine whose turn it should be based on the trick state
-        if (!currentTrick.hasCards()) {
-            // No cards in trick - just switch normally
-            String currentPlayerId = gameState.getCurrentTurnPlayerId();
-            String nextPlayerId = gameState.getOpponent(currentPlayerId)
-                    .map(Player::getId)
-                    .orElseThrow(() -> new IllegalStateException("Cannot find opponent"));
-            gameState.setCurrentTurnPlayerId(nextPlayerId);
-            return;
+    @Override
+    public GameState commitMove(MoveTicket ticket) throws InvalidMoveException {
+        if (ticket == null || !ticket.isIssuedBy(this)) {
+            throw new IllegalArgumentException("Ticket was not issued by this engine");
+        }
+        if (!ticket.isValid()) {
+            throw new InvalidMoveException(ticket.getReason(), ticket.getPlayerId(), ticket.getCards().toString());
         }
 
-        // During a trick, determine whose turn based on card counts
-        String leadingPlayerId = currentTrick.getLeadingPlayerId();
-        int leadingCount = currentTrick.getLeadingPlayerCardCount();
-        int totalCards = currentTrick.getCards().size();
-        int respondingCount = totalCards - leadingCount;
+        long stamp = stateLock.writeLock();
+        try {
+            // Nothing was committed since the ticket was issued, so its validation still holds
+            if (ticket.getVersion() != version) {
+                logger.debug("Revalidating stale ticket: version {}, now {}", ticket.getVersion(), version);
+                requireValid(ticket.getPlayerId(), ticket.getCards());
+            }
+            return commit(ticket.getPlayerId(), ticket.getCards());
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
 
-        // If responder has played fewer cards than leader, it's responder's turn
-        if (respondingCount < leadingCount) {
-            String respondingPlayerId = gameState.getOpponent(leadingPlayerId)
-                    .map(Player::getId)
-                    .orElseThrow(() -> new IllegalStateException("Cannot find opponent"));
-            gameState.setCurrentTurnPlayerId(respondingPlayerId);
+    // Reads version and state together; callers hold or validate a stamp.
+    private MoveTicket issueTicket(String playerId, List<Card> cards) {
+        long ticketVersion = version;
+        GameState state = gameState;
+        MoveValidationResult validation;
+        if (state == null) {
+            validation = MoveValidationResult.invalid("No active game");
+        } else if (state.isGameOver()) {
+            validation = MoveValidationResult.invalid("Game is already over");
         } else {
-            // Equal cards played - it's leader's turn to continue or pass
-            gameState.setCurrentTurnPlayerId(leadingPlayerId);
+            validation = moveValidator.validate(state, playerId, cards);
         }
+        return new MoveTicket(this, ticketVersion, playerId, cards, validation);
     }
 
-    private void resolveTrick() {
-        Trick trick = gameState.getTrick();
-        List<Player> players = gameState.getPlayers();
-
-        // Determine winner
-        String winnerId = trickResolver.determineTrickWinner(
-                trick, players.get(0).getId(), players.get(1).getId());
-
-        Player winner = gameState.getPlayerById(winnerId)
-                .orElseThrow(() -> new IllegalStateException("Winner not found"));
+    // Must be called with the write lock held.
+    private void requireValid(String playerId, List<Card> cards) throws InvalidMoveException {
+        if (gameState == null) {
+            throw new InvalidMoveException("No active game");
+        }
 
-        // Calculate and award points
-        int points = trickResolver.caluclateTrickPoints(trick);
-        winner.addScore(points);
+        if (gameState.isGameOver()) {
+            throw new InvalidMoveException("Game is already over");
+        }
 
-        logger.info("Trick won by {} for {} points. Score: {} - {}",
-                winner.getDisplayName(), points,
-                players.get(0).getScore(), players.get(1).getScore());
+        // Validate the move
+        MoveValidationResult validation = moveValidator.validate(gameState, playerId, cards);
+        if (!validation.isValid()) {
+            throw new InvalidMoveException(validation.getReason(), playerId, cards.toString());
+        }
+    }
 
-        // Archive the trick
-        gameState.setLastTrickWinnerId(winnerId);
-        gameState.archiveCurrentTrick();
+    // Applies a validated move; must be called with the write lock held.
+    private GameState commit(String playerId, List<Card> cards) throws InvalidMoveException {
+        logger.info("Player {} plays: {}", playerId, cards);
 
-        // Winner draws first to refill hand to 4 cards
-        refillHands(winnerId);
+        // Get the player
+        Player player = gameState.findPlayer(playerId);
+        if (player == null) {
+            throw new InvalidMoveException("Player not found: " + playerId);
+        }
 
-        // Check for game end condition
-        checkGameEnd();
+        // Move cards to the trick, then resolve it or switch turn
+        boolean resolved = GameRules.playCards(gameState, player, cards, trickResolver, undoLog);
+        if (hasListeners(CardPlayedEvent.class)) {
+            pendingEvents.add(new CardPlayedEvent(playerId, List.copyOf(cards)));
+        }
+        if (resolved) {
+            trickResolved();
+        }
 
-        // Winner gets next turn
-        gameState.setCurrentTurnPlayerId(winnerId);
+        return publishSnapshot("Cards played").getState();
     }
 
-    private void checkGameEnd() {
-        List<Player> players = gameState.getPlayers();
-        Player player1 = players.get(0);
-        Player player2 = players.get(1);
-
-        // Check if any player has more than 4 points
-        if (player1.getScore() > WINNING_SCORE && player2.getScore() <= WINNING_SCORE) {
-            endGame(false);
-            logger.info("Game over! {} wins with {} points", player1.getDisplayName(), player1.getScore());
+    private void trickResolved() {
+        boolean notify = hasListeners(TrickWonEvent.class);
+        if (!notify && !logger.isInfoEnabled()) {
             return;
         }
-
-        if (player2.getScore() > WINNING_SCORE && player1.getScore() <= WINNING_SCORE) {
-            endGame(false);
-            logger.info("Game over! {} wins with {} points", player2.getDisplayName(), player2.getScore());
+        List<Player> players = gameState.getPlayers();
+        List<Trick> completedTricks = gameState.getCompletedTricks();
+        Trick trick = completedTricks.get(completedTricks.size() - 1);
+        int points = trick.calculatePoints();
+        Player winner = gameState.getPlayer(gameState.getLastTrickWinnerSeat());
+        if (notify) {
+            pendingEvents.add(new TrickWonEvent(winner.getId(), winner.getDisplayName(), points, trick.size()));
+        }
+        if (!logger.isInfoEnabled()) {
             return;
         }
 
-        // Check for tie at 4-4 (winner is last trick winner)
-        if (player1.getScore() == WINNING_SCORE &&
-                player2.getScore() == WINNING_SCORE) {
-            endGame(false);
-            String lastWinnerId = gameState.getLastTrickWinnerId();
-            Player tieWinner = gameState.getPlayerById(lastWinnerId).orElse(player1);
-            logger.info("Game over! Tied at 4-4, {} wins by last trick", tieWinner.getDisplayName());
+        logger.info("Trick won by {} for {} points. Score: {} - {}",
+                winner.getDisplayName(), points,
+                players.get(0).getScore(), players.get(1).getScore());
+
+        if (gameState.getEndReason() == null) {
             return;
         }
-
-        // Check if deck is exhausted and both hands are empty
-        if (gameState.getDeck().isEmpty() &&
-                player1.getHand().isEmpty() &&
-                player2.getHand().isEmpty()) {
-            endGame(false);
-            logger.info("Game over! Deck exhausted. Final scores: {} - {}",
+        Player player1 = players.get(0);
+        Player player2 = players.get(1);
+        switch (gameState.getEndReason()) {
+            case SCORE_LIMIT -> {
+                Player gameWinner = player1.getScore() > WINNING_SCORE ? player1 : player2;
+                logger.info("Game over! {} wins with {} points", gameWinner.getDisplayName(), gameWinner.getScore());
+            }
+            case TIED_LAST_TRICK ->
+                    logger.info("Game over! Tied at 4-4, {} wins by last trick", winner.getDisplayName());
+            case DECK_EXHAUSTED -> logger.info("Game over! Deck exhausted. Final scores: {} - {}",
                     player1.getScore(), player2.getScore());
         }
     }
 
-    private void refillHands(String winnerId) {
-        Player winner = gameState.getPlayerById(winnerId).orElseThrow();
-        Player opponent = gameState.getOpponent(winnerId).orElseThrow();
-
-        // Winner draws first
-        refillPlayerHand(winner);
-
-        // Then opponent draws
-        refillPlayerHand(opponent);
-    }
-
-    private void refillPlayerHand(Player player) {
-        int cardsNeeded = INITIAL_HAND_SIZE - player.getHand().size();
-        if (cardsNeeded > 0 && !gameState.getDeck().isEmpty()) {
-            List<Card> drawnCards = gameState.getDeck().draw(cardsNeeded);
-            player.getHand().addCards(drawnCards);
-            logger.debug("Player {} drew {} cards (hand now: {})",
-                    player.getDisplayName(), drawnCards.size(), player.getHand().size());
-        }
-    }
-
     @Override
     public boolean canPlayCards(String playerId, List<Card> cards) {
-        stateLock.lock();
-        try {
-            if (gameState == null || gameState.isGameOver()) {
-                return false;
+        // Optimistic first: no lock is taken, and the answer counts only if no move was committed meanwhile
+        long stamp = stateLock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                boolean valid = isValidMove(playerId, cards);
+                if (stateLock.validate(stamp)) {
+                    return valid;
+                }
+            } catch (RuntimeException e) {
+                // A torn read of a state being written; retried below under the read lock
+                if (stateLock.validate(stamp)) {
+                    throw e;
+                }
             }
+        }
 
-            MoveValidationResult result = moveValidator.validate(gameState, playerId, cards);
-            return result.isValid();
+        stamp = stateLock.readLock();
+        try {
+            return isValidMove(playerId, cards);
         } finally {
-            stateLock.unlock();
+            stateLock.unlockRead(stamp);
         }
     }
 
+    // Reads the live state without changing it; callers hold or validate a stamp.
+    private boolean isValidMove(String playerId, List<Card> cards) {
+        GameState state = gameState;
+        if (state == null || state.isGameOver()) {
+            return false;
+        }
+        return moveValidator.validate(state, playerId, cards).isValid();
+    }
+
     @Override
     public void passTurn(String playerId) throws InvalidMoveException {
-        stateLock.lock();
+        long stamp = stateLock.writeLock();
         try {
             if (gameState == null) {
                 throw new InvalidMoveException("No active game");
@@ -277,7 +335,8 @@ public class GameEngine implements IGameEngine {
                 throw new InvalidMoveException("Game is already over");
             }
 
-            if (!playerId.equals(gameState.getCurrentTurnPlayerId())) {
+            int seat = gameState.seatOf(playerId);
+            if (seat == Trick.NO_SEAT || seat != gameState.getCurrentTurnSeat()) {
                 throw new InvalidMoveException("It's not your turn");
             }
 
@@ -288,11 +347,10 @@ public class GameEngine implements IGameEngine {
 
             // Validate that both players have played equal number of cards
             int leadingCount = currentTrick.getLeadingPlayerCardCount();
-            int totalCards = currentTrick.getCards().size();
+            int totalCards = currentTrick.size();
             int respondingCount = totalCards - leadingCount;
 
-            String leadingPlayerId = currentTrick.getLeadingPlayerId();
-            boolean isLeadingPlayer = playerId.equals(leadingPlayerId);
+            boolean isLeadingPlayer = seat == currentTrick.getLeaderSeat();
 
             // If responding player hasn't matched the leading count yet, they cannot pass
             if (!isLeadingPlayer && respondingCount < leadingCount) {
@@ -303,35 +361,57 @@ public class GameEngine implements IGameEngine {
             logger.info("Player {} passes turn - trick will be resolved", playerId);
 
             // Player is passing - resolve the trick immediately
-            resolveTrick();
+            GameRules.passTurn(gameState, trickResolver, undoLog);
+            trickResolved();
 
-            gameState.updateLastModified();
+            publishSnapshot("Turn passed");
+        } finally {
+            unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean undoLastMove() {
+        long stamp = stateLock.writeLock();
+        try {
+            if (gameState == null || undoLog.isEmpty()) {
+                return false;
+            }
+            GameRules.unmakeMove(gameState, undoLog);
+            publishSnapshot("Move undone");
+            logger.info("Last move undone, {} more can be undone", undoLog.moveCount());
+            return true;
         } finally {
-            stateLock.unlock();
+            unlockWrite(stamp);
         }
     }
 
     @Override
     public void endGame(boolean cancelled) {
-        stateLock.lock();
+        long stamp = stateLock.writeLock();
         try {
             if (gameState != null) {
+                // Ending the game by hand is final
+                undoLog.clear();
                 gameState.setGameStatus(cancelled ? GameStatus.CANCELLED : GameStatus.COMPLETED);
+                publishSnapshot(cancelled ? "Game cancelled" : "Game ended");
                 logger.info("Game ended. Status: {}", gameState.getGameStatus());
             }
         } finally {
-            stateLock.unlock();
+            unlockWrite(stamp);
         }
     }
 
     @Override
     public void resetGame() {
-        stateLock.lock();
+        long stamp = stateLock.writeLock();
         try {
             gameState = null;
+            undoLog.clear();
+            publishSnapshot("Game reset");
             logger.info("Game engine reset");
         } finally {
-            stateLock.unlock();
+            unlockWrite(stamp);
         }
     }
 
@@ -341,13 +421,18 @@ public class GameEngine implements IGameEngine {
             throw new IllegalArgumentException("Cannot restore null game state");
         }
 
-        stateLock.lock();
+        long stamp = stateLock.writeLock();
         try {
-            this.gameState = state;
+            // Take a private copy so the caller's object never aliases the live state
+            this.gameState = state.copy();
+            undoLog.clear();
+            // Continue past the saved version, so a restored game never repeats one a client has seen
+            version = Math.max(version, gameState.getVersion());
+            publishSnapshot("Game restored");
             logger.info("Game state restored: {} players, status: {}",
                     state.getPlayers().size(), state.getGameStatus());
         } finally {
-            stateLock.unlock();
+            unlockWrite(stamp);
         }
     }
 }
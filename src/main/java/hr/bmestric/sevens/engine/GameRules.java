@@ -0,0 +1,277 @@
+package hr.bmestric.sevens.engine;
+
+import hr.bmestric.sevens.engine.interfaces.ITrickResolver;
+import hr.bmestric.sevens.model.Card;
+import hr.bmestric.sevens.model.Deck;
+import hr.bmestric.sevens.model.GameState;
+import hr.bmestric.sevens.model.Hand;
+import hr.bmestric.sevens.model.Player;
+import hr.bmestric.sevens.model.Trick;
+import hr.bmestric.sevens.model.enums.GameEndReason;
+import hr.bmestric.sevens.model.enums.GameStatus;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * State transitions of a game, without validation, locking, logging or timestamps.
+ * {@link GameEngine} wraps these with its lock and logging; the simulator calls them directly.
+ * Callers are expected to have validated the move first. Moves applied with an
+ * {@link UndoLog} can be reverted exactly with {@link #unmakeMove(GameState, UndoLog)}.
+ */
+public final class GameRules {
+    public static final int INITIAL_HAND_SIZE = 4;
+    public static final int WINNING_SCORE = 4;
+
+    private static final GameStatus[] STATUSES = GameStatus.values();
+    private static final GameEndReason[] END_REASONS = GameEndReason.values();
+
+    private GameRules() {
+        // Utility class
+    }
+
+    // Draws a seed from the generator, so the deal can still be reproduced from the state.
+    public static void dealNewGame(GameState state, RandomGenerator random) {
+        dealNewGame(state, random.nextLong());
+    }
+
+    public static void dealNewGame(GameState state, long seed) {
+        state.setDealSeed(seed);
+        state.getDeck().shuffle(seed);
+        deal(state);
+    }
+
+    // Deals the given four cards to one seat and shuffles the rest; for opening-hand analysis.
+    public static void dealOpening(GameState state, int seat, int handMask, long seed) {
+        if (Integer.bitCount(handMask) != INITIAL_HAND_SIZE) {
+            throw new IllegalArgumentException("Opening hand must have " + INITIAL_HAND_SIZE + " cards");
+        }
+        state.setDealSeed(seed);
+        Deck deck = state.getDeck();
+        deck.shuffle(seed);
+        deck.placeOnTop(seat * INITIAL_HAND_SIZE, handMask);
+        deal(state);
+    }
+
+    private static void deal(GameState state) {
+        List<Player> players = state.getPlayers();
+        for (int seat = 0; seat < players.size(); seat++) {
+            Player player = players.get(seat);
+            player.getHand().clear();
+            player.setScore(0);
+            refillPlayerHand(state, seat, null);
+        }
+
+        state.setCurrentTurnSeat(0);
+        state.setGameStatus(GameStatus.IN_PROGRESS);
+        // Shuffling and clearing bypass the incremental updates
+        state.recomputePositionHash();
+    }
+
+    // Returns true when the play completed the trick and it was resolved.
+    public static boolean playCards(GameState state, Player player, List<Card> cards, ITrickResolver trickResolver) {
+        return playCards(state, player, cards, trickResolver, null);
+    }
+
+    // As playCards(), recording the move in the log when it is not null.
+    public static boolean playCards(GameState state, Player player, List<Card> cards, ITrickResolver trickResolver,
+                                    UndoLog log) {
+        beginMove(state, log);
+        for (int i = 0; i < cards.size(); i++) {
+            playCard(state, player, cards.get(i), log);
+        }
+        return finishPlay(state, trickResolver, log);
+    }
+
+    // Applies an encoded Move; returns true when the trick was resolved (always for a pass).
+    public static boolean playMove(GameState state, Player player, int move, ITrickResolver trickResolver) {
+        return makeMove(state, player, move, trickResolver, null);
+    }
+
+    /**
+     * Applies an encoded Move and, when log is not null, records what it changed so
+     * {@link #unmakeMove(GameState, UndoLog)} can restore the exact previous state,
+     * including hand order, deck order and the position hash.
+     */
+    public static boolean makeMove(GameState state, Player player, int move, ITrickResolver trickResolver,
+                                   UndoLog log) {
+        if (Move.isPass(move)) {
+            passTurn(state, trickResolver, log);
+            return true;
+        }
+
+        beginMove(state, log);
+        for (int bits = move; bits != 0; bits &= bits - 1) {
+            playCard(state, player, Card.fromIndex(Integer.numberOfTrailingZeros(bits)), log);
+        }
+        return finishPlay(state, trickResolver, log);
+    }
+
+    public static void passTurn(GameState state, ITrickResolver trickResolver) {
+        passTurn(state, trickResolver, null);
+    }
+
+    public static void passTurn(GameState state, ITrickResolver trickResolver, UndoLog log) {
+        beginMove(state, log);
+        resolveTrick(state, trickResolver, log);
+        endMove(log);
+    }
+
+    // Reverts the most recent move recorded in the log.
+    public static void unmakeMove(GameState state, UndoLog log) {
+        long header = log.popHeader();
+        int changes = UndoLog.field(header, 4, 16);
+
+        for (int i = 0; i < changes; i++) {
+            long entry = log.pop();
+            switch (UndoLog.type(entry)) {
+                case UndoLog.PLAY:
+                    state.unplayCard(state.getPlayer(UndoLog.field(entry, 12, 1)),
+                            UndoLog.field(entry, 9, 3),
+                            UndoLog.seatField(entry, 13),
+                            UndoLog.seatField(entry, 15),
+                            UndoLog.seatField(entry, 17));
+                    break;
+                case UndoLog.DRAW:
+                    state.undrawCard(state.getPlayer(UndoLog.field(entry, 9, 1)),
+                            Card.fromIndex(UndoLog.field(entry, 4, 5)));
+                    break;
+                case UndoLog.SCORE:
+                    Player scorer = state.getPlayer(UndoLog.field(entry, 4, 1));
+                    state.setScore(scorer, scorer.getScore() - UndoLog.field(entry, 5, 6));
+                    break;
+                case UndoLog.ARCHIVE:
+                    state.unarchiveLastTrick();
+                    break;
+                default:
+                    throw new IllegalStateException("Undo log is corrupted");
+            }
+        }
+
+        int status = UndoLog.field(header, 24, 4) - 1;
+        int endReason = UndoLog.field(header, 28, 4) - 1;
+        state.setGameStatus(status < 0 ? null : STATUSES[status]);
+        state.setEndReason(endReason < 0 ? null : END_REASONS[endReason]);
+        state.setCurrentTurnSeat(UndoLog.seatField(header, 20));
+        state.setLastTrickWinnerSeat(UndoLog.seatField(header, 22));
+    }
+
+    private static void beginMove(GameState state, UndoLog log) {
+        if (log != null) {
+            log.beginMove(state.getCurrentTurnSeat(),
+                    state.getLastTrickWinnerSeat(),
+                    state.getGameStatus() == null ? -1 : state.getGameStatus().ordinal(),
+                    state.getEndReason() == null ? -1 : state.getEndReason().ordinal());
+        }
+    }
+
+    private static void endMove(UndoLog log) {
+        if (log != null) {
+            log.endMove();
+        }
+    }
+
+    private static void playCard(GameState state, Player player, Card card, UndoLog log) {
+        if (log != null) {
+            Trick trick = state.getTrick();
+            log.push(UndoLog.play(card.getIndex(), player.getHand().indexOf(card),
+                    state.seatOf(player),
+                    trick.getLeaderSeat(),
+                    trick.getLastSeat(),
+                    trick.getLastMatchingOrTrumpSeat()));
+        }
+        state.playCard(player, card);
+    }
+
+    private static boolean finishPlay(GameState state, ITrickResolver trickResolver, UndoLog log) {
+        boolean resolved = trickResolver.isTrickComplete(state.getTrick(), state);
+        if (resolved) {
+            resolveTrick(state, trickResolver, log);
+        } else {
+            switchTurn(state);
+        }
+        endMove(log);
+        return resolved;
+    }
+
+    private static void switchTurn(GameState state) {
+        Trick trick = state.getTrick();
+
+        if (!trick.hasCards()) {
+            state.setCurrentTurnSeat(state.getCurrentTurnSeat() == 0 ? 1 : 0);
+            return;
+        }
+
+        // During a trick, the responder moves until they have matched the leader's card count
+        int leaderSeat = trick.getLeaderSeat();
+        int leadingCount = trick.getLeadingPlayerCardCount();
+        int respondingCount = trick.size() - leadingCount;
+
+        state.setCurrentTurnSeat(respondingCount < leadingCount ? 1 - leaderSeat : leaderSeat);
+    }
+
+    private static void resolveTrick(GameState state, ITrickResolver trickResolver, UndoLog log) {
+        Trick trick = state.getTrick();
+
+        int winnerSeat = trickResolver.determineTrickWinnerSeat(trick, state);
+        if (winnerSeat < 0) {
+            throw new IllegalStateException("Winner not found");
+        }
+        Player winner = state.getPlayer(winnerSeat);
+
+        int points = trickResolver.caluclateTrickPoints(trick);
+        state.addScore(winner, points);
+
+        state.setLastTrickWinnerSeat(winnerSeat);
+        if (log != null) {
+            log.push(UndoLog.score(winnerSeat, points));
+            log.push(UndoLog.archive());
+        }
+        state.archiveCurrentTrick();
+
+        // Winner draws first
+        refillPlayerHand(state, winnerSeat, log);
+        refillPlayerHand(state, 1 - winnerSeat, log);
+
+        checkGameEnd(state);
+
+        state.setCurrentTurnSeat(winnerSeat);
+    }
+
+    private static void refillPlayerHand(GameState state, int seat, UndoLog log) {
+        Player player = state.getPlayer(seat);
+        Hand hand = player.getHand();
+        while (hand.size() < INITIAL_HAND_SIZE) {
+            Card card = state.drawCard(player);
+            if (card == null) {
+                return;
+            }
+            if (log != null) {
+                log.push(UndoLog.draw(card.getIndex(), seat));
+            }
+        }
+    }
+
+    private static void checkGameEnd(GameState state) {
+        List<Player> players = state.getPlayers();
+        int score1 = players.get(0).getScore();
+        int score2 = players.get(1).getScore();
+
+        if ((score1 > WINNING_SCORE && score2 <= WINNING_SCORE)
+                || (score2 > WINNING_SCORE && score1 <= WINNING_SCORE)) {
+            endGame(state, GameEndReason.SCORE_LIMIT);
+        } else if (score1 == WINNING_SCORE && score2 == WINNING_SCORE) {
+            // Tied at 4-4, the last trick winner takes the game
+            endGame(state, GameEndReason.TIED_LAST_TRICK);
+        } else if (state.getDeck().isEmpty()
+                && players.get(0).getHand().isEmpty()
+                && players.get(1).getHand().isEmpty()) {
+            endGame(state, GameEndReason.DECK_EXHAUSTED);
+        }
+    }
+
+    private static void endGame(GameState state, GameEndReason reason) {
+        state.setEndReason(reason);
+        state.setGameStatus(GameStatus.COMPLETED);
+    }
+}
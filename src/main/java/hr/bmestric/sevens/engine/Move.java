@@ -0,0 +1,52 @@
+package hr.bmestric.sevens.engine;
+
+import hr.bmestric.sevens.model.Card;
+import hr.bmestric.sevens.model.CardSet;
+import hr.bmestric.sevens.model.enums.Rank;
+
+import java.util.List;
+
+/**
+ * Compact move encoding: a move is the {@link CardSet} mask of the cards played,
+ * and the empty mask means pass. Legal plays are always one rank, so the mask is
+ * enough to describe them.
+ */
+public final class Move {
+    public static final int PASS = CardSet.EMPTY_MASK;
+
+    private Move() {
+        // Utility class
+    }
+
+    public static int of(Card card) {
+        return CardSet.bit(card);
+    }
+
+    public static int of(List<Card> cards) {
+        return CardSet.maskOf(cards);
+    }
+
+    public static boolean isPass(int move) {
+        return move == PASS;
+    }
+
+    public static int size(int move) {
+        return Integer.bitCount(move);
+    }
+
+    public static Rank rank(int move) {
+        return isPass(move) ? null : Card.fromIndex(Integer.numberOfTrailingZeros(move)).getRank();
+    }
+
+    public static int points(int move) {
+        return CardSet.points(move);
+    }
+
+    public static List<Card> toCards(int move) {
+        return CardSet.toList(move);
+    }
+
+    public static String toString(int move) {
+        return isPass(move) ? "PASS" : CardSet.toList(move).toString();
+    }
+}
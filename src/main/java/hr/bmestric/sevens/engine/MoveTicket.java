@@ -0,0 +1,61 @@
+package hr.bmestric.sevens.engine;
+
+import hr.bmestric.sevens.model.Card;
+
+import java.util.List;
+
+/**
+ * Result of {@link GameEngine#validateMove(String, List)}: the move, whether it was legal
+ * and the state version it was checked against. Committing a valid ticket while the engine
+ * is still at that version applies the move without validating it again; a stale ticket
+ * is revalidated first. Immutable.
+ */
+public final class MoveTicket {
+    private final Object issuer;
+    private final long version;
+    private final String playerId;
+    private final List<Card> cards;
+    private final MoveValidationResult result;
+
+    MoveTicket(Object issuer, long version, String playerId, List<Card> cards, MoveValidationResult result) {
+        this.issuer = issuer;
+        this.version = version;
+        this.playerId = playerId;
+        this.cards = cards;
+        this.result = result;
+    }
+
+    public boolean isIssuedBy(Object engine) {
+        return issuer == engine;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String getPlayerId() {
+        return playerId;
+    }
+
+    public List<Card> getCards() {
+        return cards;
+    }
+
+    public boolean isValid() {
+        return result.isValid();
+    }
+
+    // Null for a valid move.
+    public String getReason() {
+        return result.getReason();
+    }
+
+    @Override
+    public String toString() {
+        return "MoveTicket{version=" + version +
+                ", playerId='" + playerId + '\'' +
+                ", cards=" + cards +
+                ", " + result +
+                '}';
+    }
+}
@@ -10,23 +10,26 @@ import java.util.List;
 
 public class MoveValidator implements IMoveValidator {
     private static final Logger logger = LoggerFactory.getLogger(MoveValidator.class);
+    private static final Rank[] RANKS = Rank.values();
+
     @Override
     public MoveValidationResult validate(GameState gameState, String playerId, List<Card> cards) {
         if(cards == null || cards.isEmpty()) {
             return MoveValidationResult.invalid("No cards played");
         }
 
-        if(!playerId.equals(gameState.getCurrentTurnPlayerId())) {
+        // One id lookup; everything after works on the seat
+        int seat = gameState.seatOf(playerId);
+        if(seat == Trick.NO_SEAT || seat != gameState.getCurrentTurnSeat()) {
             return MoveValidationResult.invalid("It's not your turn");
         }
 
-        Player player = gameState.getPlayerById(playerId).orElseThrow(null);
-        if(player == null) {
-            return MoveValidationResult.invalid("Player not found");
-        }
+        Player player = gameState.getPlayer(seat);
 
-        for(Card card : cards) {
-            if (!player.getHand().contains(card)) {
+        int handMask = player.getHand().getMask();
+        for (int i = 0; i < cards.size(); i++) {
+            Card card = cards.get(i);
+            if ((handMask & CardSet.bit(card)) == 0) {
                 return MoveValidationResult.invalid("Player does not have the card: " + card);
             }
         }
@@ -35,23 +38,20 @@ public class MoveValidator implements IMoveValidator {
             if (!currentTrick.hasCards()) {
                 return validateLeadingPlay(cards);
             }
-            return validateResponsePlay(gameState, player, cards, currentTrick);
+            return validateResponsePlay(seat, player, cards, currentTrick);
     }
 
     private MoveValidationResult validateResponsePlay(
-            GameState gameState, Player player, List<Card> cards, Trick currentTrick) {
-        List<Card> trickCards = currentTrick.getCards();
-        Rank leadingRank = trickCards.get(0).getRank();
+            int seat, Player player, List<Card> cards, Trick currentTrick) {
+        Rank leadingRank = currentTrick.getLeadingRank();
         int leadingCount = currentTrick.getLeadingPlayerCardCount();
-        int totalCards = trickCards.size();
-        int respondingCount = totalCards - leadingCount;
+        int respondingCount = currentTrick.getRespondingPlayerCardCount();
 
-        String leadingPlayerId = currentTrick.getLeadingPlayerId();
-        boolean isLeadingPlayer = player.getId().equals(leadingPlayerId);
+        boolean isLeadingPlayer = seat == currentTrick.getLeaderSeat();
 
         Rank responseRank = cards.get(0).getRank();
-        for (Card card : cards) {
-            if(card.getRank() != responseRank) {
+        for (int i = 1; i < cards.size(); i++) {
+            if(cards.get(i).getRank() != responseRank) {
                 return MoveValidationResult.invalid("All cards must be the same rank when playing multiple cards");
             }
         }
@@ -67,18 +67,19 @@ public class MoveValidator implements IMoveValidator {
         }
 
         if (responseRank == leadingRank) {
-            // Must play the same number of cards OR all cards of that rank they have
-            List<Card> matchingCardsInHand = player.getHand().getCardsWithRank(leadingRank);
+            // Must make up the leader's count OR play all cards of that rank they have
+            int matchingCardsInHand = player.getHand().countRank(leadingRank);
+            int requiredCount = leadingCount - respondingCount;
 
-            if (cards.size() != leadingCount) {
+            if (cards.size() != requiredCount) {
                 // Allow playing fewer if that's all they have
-                if (cards.size() == matchingCardsInHand.size()) {
+                if (cards.size() == matchingCardsInHand) {
                     logger.debug("Player playing all {} cards of rank {} (less than required {})",
-                            cards.size(), leadingRank, leadingCount);
+                            cards.size(), leadingRank, requiredCount);
                     return MoveValidationResult.valid();
                 }
                 return MoveValidationResult.invalid(
-                        String.format("Must play %d cards of rank %s to match opponent", leadingCount, leadingRank));
+                        String.format("Must play %d cards of rank %s to match opponent", requiredCount, leadingRank));
             }
             return MoveValidationResult.valid();
         }
@@ -97,8 +98,8 @@ public class MoveValidator implements IMoveValidator {
         }
 
         Rank firstRank = cards.get(0).getRank();
-        for (Card card : cards) {
-            if (card.getRank() != firstRank) {
+        for (int i = 1; i < cards.size(); i++) {
+            if (cards.get(i).getRank() != firstRank) {
                 return MoveValidationResult.invalid("All cards must be the same rank when playing multiple cards");
             }
         }
@@ -106,6 +107,81 @@ public class MoveValidator implements IMoveValidator {
         return MoveValidationResult.valid();
     }
 
+    @Override
+    public MoveList generateLegalMoves(GameState gameState, String playerId) {
+        MoveList moves = new MoveList();
+        generateLegalMoves(gameState, playerId, moves);
+        return moves;
+    }
+
+    // Clears and fills the given list with every move validate() would accept, plus PASS when passing is allowed.
+    @Override
+    public int generateLegalMoves(GameState gameState, String playerId, MoveList moves) {
+        moves.clear();
+        int seat = gameState.seatOf(playerId);
+        if (gameState.isGameOver() || seat == Trick.NO_SEAT || seat != gameState.getCurrentTurnSeat()) {
+            return 0;
+        }
+        Player player = gameState.getPlayer(seat);
+
+        Trick trick = gameState.getTrick();
+        generateMoves(player.getHand().getMask(),
+                trick.getLeadingRank(),
+                trick.getLeadingPlayerCardCount(),
+                trick.getRespondingPlayerCardCount(),
+                seat == trick.getLeaderSeat(),
+                moves);
+        return moves.size();
+    }
+
+    /**
+     * Mask-level move generator shared with search code. leadingRank is null when the
+     * trick is empty; leadingCount/respondingCount are the cards each side has put on the trick so far.
+     */
+    public static void generateMoves(int handMask, Rank leadingRank, int leadingCount, int respondingCount,
+                                     boolean isLeadingPlayer, MoveList moves) {
+        if (leadingRank == null) {
+            // Leading: any non-empty group of same-rank cards
+            for (Rank rank : RANKS) {
+                addSubsets(handMask & CardSet.rankMask(rank), moves);
+            }
+            return;
+        }
+
+        if (isLeadingPlayer && respondingCount >= leadingCount) {
+            // Continuing: leading rank or trump, or pass
+            addSubsets(handMask & CardSet.rankMask(leadingRank), moves);
+            if (leadingRank != Rank.SEVEN) {
+                addSubsets(handMask & CardSet.rankMask(Rank.SEVEN), moves);
+            }
+            moves.add(Move.PASS);
+            return;
+        }
+
+        // Responding: make up the leader's count (or play every matching card held), or any single card
+        int matching = handMask & CardSet.rankMask(leadingRank);
+        int matchingCount = Integer.bitCount(matching);
+        int requiredCount = leadingCount - respondingCount;
+        for (int subset = matching; subset != 0; subset = (subset - 1) & matching) {
+            int size = Integer.bitCount(subset);
+            if (size == requiredCount || size == matchingCount) {
+                moves.add(subset);
+            }
+        }
+        for (int others = handMask & ~matching; others != 0; others &= others - 1) {
+            moves.add(others & -others);
+        }
+        if (isLeadingPlayer || respondingCount >= leadingCount) {
+            moves.add(Move.PASS);
+        }
+    }
+
+    private static void addSubsets(int cards, MoveList moves) {
+        for (int subset = cards; subset != 0; subset = (subset - 1) & cards) {
+            moves.add(subset);
+        }
+    }
+
     @Override
     public boolean mustRespondToSequence(GameState gameState, String playerId) {
         Trick currentTrick = gameState.getTrick();
@@ -114,19 +190,17 @@ public class MoveValidator implements IMoveValidator {
         }
 
         // Get player's hand
-        Player player = gameState.getPlayerById(playerId).orElse(null);
+        Player player = gameState.findPlayer(playerId);
         if (player == null) {
             return false;
         }
 
         // Check if opponent played multiple cards
-        List<Card> leadingCards = currentTrick.getCards();
-        if (leadingCards.size() <= 1) {
+        if (currentTrick.size() <= 1) {
             return false;
         }
 
         // Check if player has matching rank
-        Rank leadingRank = leadingCards.get(0).getRank();
-        return player.getHand().containsRank(leadingRank);
+        return player.getHand().containsRank(currentTrick.getLeadingRank());
     }
 }
@@ -0,0 +1,37 @@
+package hr.bmestric.sevens.engine;
+
+import hr.bmestric.sevens.model.GameState;
+
+/**
+ * A committed engine state together with its version. The state is a private copy
+ * owned by the snapshot: the engine never mutates it after publishing, so readers
+ * can walk it without holding any lock. Versions increase with every committed command,
+ * including restarts and restores, and match the state's GameState.getVersion().
+ */
+public final class StateSnapshot {
+    static final StateSnapshot EMPTY = new StateSnapshot(0L, null);
+
+    private final long version;
+    private final GameState state;
+
+    StateSnapshot(long version, GameState state) {
+        this.version = version;
+        this.state = state;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    // Null when no game is active.
+    public GameState getState() {
+        return state;
+    }
+
+    @Override
+    public String toString() {
+        return "StateSnapshot{version=" + version +
+                ", status=" + (state == null ? "none" : state.getGameStatus()) +
+                '}';
+    }
+}
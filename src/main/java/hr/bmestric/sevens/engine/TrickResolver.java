@@ -1,19 +1,14 @@
 package hr.bmestric.sevens.engine;
 
 import hr.bmestric.sevens.engine.interfaces.ITrickResolver;
-import hr.bmestric.sevens.model.Card;
+import hr.bmestric.sevens.model.CardSet;
 import hr.bmestric.sevens.model.GameState;
-import hr.bmestric.sevens.model.Player;
 import hr.bmestric.sevens.model.Trick;
-import hr.bmestric.sevens.model.enums.Rank;
-
-import java.util.List;
 
 public class TrickResolver implements ITrickResolver {
     @Override
     public String determineTrickWinner(Trick trick, String player1Id, String player2Id) {
-        List<Card> cards = trick.getCards();
-        if(cards.isEmpty()) {
+        if(!trick.hasCards()) {
             throw new IllegalArgumentException("Cannot determine winner of an empty trick.");
         }
 
@@ -22,6 +17,16 @@ public class TrickResolver implements ITrickResolver {
 
     }
 
+    @Override
+    public int determineTrickWinnerSeat(Trick trick, GameState gameState) {
+        if(!trick.hasCards()) {
+            throw new IllegalArgumentException("Cannot determine winner of an empty trick.");
+        }
+
+        int winner = trick.getLastMatchingOrTrumpSeat();
+        return winner != Trick.NO_SEAT ? winner : trick.getLeaderSeat();
+    }
+
     @Override
     public int caluclateTrickPoints(Trick trick) {
         return trick.calculatePoints();
@@ -29,55 +34,26 @@ public class TrickResolver implements ITrickResolver {
 
     @Override
     public boolean isTrickComplete(Trick trick, GameState gameState) {
-        if(!trick.hasCards()) {
-            return false;
-        }
-
-        List<Card> cards = trick.getCards();
+        int totalCards = trick.size();
 
-        if(cards.size() < 2) {
+        if(totalCards < 2) {
             return false;
         }
 
-        int leadingCardCount = trick.getLeadingPlayerCardCount();
-        String leadingPlayerId = trick.getLeadingPlayerId();
-
-        int respondingCardCount = cards.size() - leadingCardCount;
-
-        String respondingPlayerId = gameState.getPlayers().stream()
-                .map(Player::getId)
-                .filter(id -> !id.equals(leadingPlayerId))
-                .findFirst()
-                .orElse(null);
-
-        if(respondingPlayerId == null) {
-            return false;
-        }
-
-        Player leadingPlayer = gameState.getPlayerById(leadingPlayerId).orElse(null);
-        Player respondingPlayer = gameState.getPlayerById(respondingPlayerId).orElse(null);
-
-        if(leadingPlayer == null || respondingPlayer == null) {
-            return false;
-        }
-
-        Rank leadingRank = cards.getFirst().getRank();
-
-        if(respondingCardCount < leadingCardCount) {
+        if(trick.getRespondingPlayerCardCount() < trick.getLeadingPlayerCardCount()) {
             return false;
         }
 
-        Card lastRespondingCard = cards.get(leadingCardCount + respondingCardCount - 1);
+        // The same table decides whether the response took the trick and whether the leader can take it back
+        int takingMask = trick.getMatchingOrTrumpMask();
 
         //no match and no trump played
-        if(lastRespondingCard.getRank() != leadingRank && lastRespondingCard.getRank() != Rank.SEVEN) {
+        if((takingMask & CardSet.bit(trick.cardAt(totalCards - 1))) == 0) {
             return true;
         }
 
         // matched, check if leading player can continue
-        boolean leadingPlayerCanContinue = leadingPlayer.getHand().containsRank(leadingRank)
-                || leadingPlayer.getHand().containsRank(Rank.SEVEN);
-
-        return !leadingPlayerCanContinue;
+        int leaderMask = gameState.getPlayer(trick.getLeaderSeat()).getHand().getMask();
+        return (leaderMask & takingMask) == 0;
     }
 }
@@ -0,0 +1,131 @@
+package hr.bmestric.sevens.engine;
+
+import java.util.Arrays;
+
+/**
+ * Compact record of applied moves for {@link GameRules#unmakeMove}. Every change a move
+ * makes (card played, card drawn, points scored, trick archived) is one long, and each
+ * move ends with a header long holding the change count and the scalar fields it
+ * overwrote. Players are stored as seat indexes, so a move typically costs a few dozen
+ * bytes and no objects. Not thread-safe.
+ */
+public final class UndoLog {
+    static final int PLAY = 1;
+    static final int DRAW = 2;
+    static final int SCORE = 3;
+    static final int ARCHIVE = 4;
+    static final int HEADER = 5;
+
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private long[] entries;
+    private int size;
+    private int moveCount;
+    private int pendingStart;
+    private long pendingHeader;
+
+    public UndoLog() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public UndoLog(int capacity) {
+        this.entries = new long[Math.max(capacity, 1)];
+    }
+
+    // Number of moves that can be undone.
+    public int moveCount() {
+        return moveCount;
+    }
+
+    public boolean isEmpty() {
+        return moveCount == 0;
+    }
+
+    public void clear() {
+        size = 0;
+        pendingStart = 0;
+        moveCount = 0;
+    }
+
+    void push(long entry) {
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size * 2);
+        }
+        entries[size++] = entry;
+    }
+
+    long pop() {
+        if (size == 0) {
+            throw new IllegalStateException("Undo log is empty");
+        }
+        return entries[--size];
+    }
+
+    // Remembers the scalar fields a move may overwrite; endMove() writes them into the move's header.
+    void beginMove(int turnSeat, int lastTrickWinnerSeat, int statusOrdinal, int endReasonOrdinal) {
+        pendingStart = size;
+        pendingHeader = (long) (turnSeat + 1) << 20
+                | (long) (lastTrickWinnerSeat + 1) << 22
+                | (long) (statusOrdinal + 1) << 24
+                | (long) (endReasonOrdinal + 1) << 28;
+    }
+
+    void endMove() {
+        push(HEADER | (long) (size - pendingStart) << 4 | pendingHeader);
+        moveCount++;
+    }
+
+    long popHeader() {
+        if (moveCount == 0) {
+            throw new IllegalStateException("No move to undo");
+        }
+        long header = pop();
+        if (type(header) != HEADER) {
+            throw new IllegalStateException("Undo log is corrupted");
+        }
+        moveCount--;
+        return header;
+    }
+
+    static long play(int cardIndex, int handIndex, int seat, int leadingSeat, int lastSeat, int matchingSeat) {
+        return PLAY
+                | (long) cardIndex << 4
+                | (long) handIndex << 9
+                | (long) seat << 12
+                | (long) (leadingSeat + 1) << 13
+                | (long) (lastSeat + 1) << 15
+                | (long) (matchingSeat + 1) << 17;
+    }
+
+    static long draw(int cardIndex, int seat) {
+        return DRAW | (long) cardIndex << 4 | (long) seat << 9;
+    }
+
+    static long score(int seat, int points) {
+        return SCORE | (long) seat << 4 | (long) points << 5;
+    }
+
+    // The archived trick keeps who played each card, so restoring it needs nothing else.
+    static long archive() {
+        return ARCHIVE;
+    }
+
+    static int type(long entry) {
+        return (int) entry & 0xF;
+    }
+
+    // Unsigned field of the given width at the given offset.
+    static int field(long entry, int offset, int bits) {
+        return (int) (entry >>> offset) & ((1 << bits) - 1);
+    }
+
+    // Seat stored with +1 bias, so -1 (no player) round-trips.
+    static int seatField(long entry, int offset) {
+        return field(entry, offset, 2) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "UndoLog{moves=" + moveCount + ", entries=" + size + '}';
+    }
+}
@@ -1,6 +1,8 @@
 package hr.bmestric.sevens.engine.interfaces;
 
 import hr.bmestric.sevens.engine.InvalidMoveException;
+import hr.bmestric.sevens.engine.MoveTicket;
+import hr.bmestric.sevens.engine.StateSnapshot;
 import hr.bmestric.sevens.model.Card;
 import hr.bmestric.sevens.model.GameState;
 import hr.bmestric.sevens.model.Player;
@@ -9,10 +11,18 @@ import java.util.List;
 
 public interface IGameEngine {
     void startNewGame(List<Player> players);
+    // Deals from the given seed; the same id, players and seed always give the same game.
+    void startNewGame(String gameId, List<Player> players, long seed);
     GameState getState();
+    StateSnapshot getSnapshot();
     GameState playCards(String playerId, List<Card> cards) throws InvalidMoveException;
     boolean canPlayCards(String playerId, List<Card> cards);
+    // Validates once; commitMove() then applies the move without validating it again unless the state moved on.
+    MoveTicket validateMove(String playerId, List<Card> cards);
+    GameState commitMove(MoveTicket ticket) throws InvalidMoveException;
     void passTurn(String playerId) throws InvalidMoveException;
+    // Reverts the last play or pass of the current game; false when there is nothing to undo.
+    boolean undoLastMove();
     void endGame(boolean cancelled);
     void resetGame();
     void restoreState(GameState state);
@@ -1,5 +1,6 @@
 package hr.bmestric.sevens.engine.interfaces;
 
+import hr.bmestric.sevens.engine.MoveList;
 import hr.bmestric.sevens.engine.MoveValidationResult;
 import hr.bmestric.sevens.model.Card;
 import hr.bmestric.sevens.model.GameState;
@@ -10,4 +11,6 @@ import java.util.List;
 public interface IMoveValidator {
     MoveValidationResult validate(GameState gameState, String playerId, List<Card> cards);
     boolean mustRespondToSequence(GameState gameState, String playerId);
+    MoveList generateLegalMoves(GameState gameState, String playerId);
+    int generateLegalMoves(GameState gameState, String playerId, MoveList moves);
 }
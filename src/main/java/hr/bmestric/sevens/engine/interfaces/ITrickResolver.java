@@ -5,6 +5,11 @@ import hr.bmestric.sevens.model.Trick;
 
 public interface ITrickResolver {
     String determineTrickWinner(Trick trick, String player1Id, String player2Id);
+    // Seat of the trick winner in getPlayers() order; the engine calls this one.
+    default int determineTrickWinnerSeat(Trick trick, GameState gameState) {
+        return gameState.seatOf(determineTrickWinner(trick,
+                gameState.getPlayer(0).getId(), gameState.getPlayer(1).getId()));
+    }
     int caluclateTrickPoints(Trick trick);
     boolean isTrickComplete(Trick trick, GameState gameState);
 }
@@ -5,14 +5,16 @@ import hr.bmestric.sevens.events.interfaces.IGameEventListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List;
-import java.util.Map;
 import java.util.concurrent.*;
 
+/**
+ * Delivers each event to the listeners of its class and of every superclass, so a listener
+ * of GameEvent receives everything. See RingBufferEventBus for high event rates.
+ */
 public class GameEventBus implements IGameEventBus {
     private static final Logger logger = LoggerFactory.getLogger(GameEventBus.class);
 
-    private final Map<Class<? extends GameEvent>, List<IGameEventListener<? extends GameEvent>>> listeners;
+    private final ListenerRegistry registry;
     private final ExecutorService executorService;
     private final boolean asyncMode;
 
@@ -21,7 +23,7 @@ public class GameEventBus implements IGameEventBus {
     }
 
     public GameEventBus(boolean asyncMode) {
-        this.listeners = new ConcurrentHashMap<>();
+        this.registry = new ListenerRegistry();
         this.asyncMode = asyncMode;
         this.executorService = asyncMode
                 ? Executors.newFixedThreadPool(2, r -> {
@@ -41,8 +43,8 @@ public class GameEventBus implements IGameEventBus {
             return;
         }
 
-        List<IGameEventListener<? extends GameEvent>> eventListeners = listeners.get(event.getClass());
-        if (eventListeners == null || eventListeners.isEmpty()) {
+        IGameEventListener<?>[] eventListeners = registry.listenersFor(event.getClass());
+        if (eventListeners.length == 0) {
             logger.debug("No listeners registered for event type: {}", event.getClass().getSimpleName());
             return;
         }
@@ -51,54 +53,31 @@ public class GameEventBus implements IGameEventBus {
 
         if (asyncMode && executorService != null) {
             // Asynchronous delivery
-            executorService.submit(() -> notifyListeners(event, eventListeners));
+            executorService.submit(() -> ListenerRegistry.notifyListeners(event, eventListeners));
         } else {
             // Synchronous delivery
-            notifyListeners(event, eventListeners);
+            ListenerRegistry.notifyListeners(event, eventListeners);
         }
     }
 
-    private <T extends GameEvent> void notifyListeners(
-            T event,
-            List<IGameEventListener<? extends GameEvent>> eventListeners) {
-        for (IGameEventListener<? extends GameEvent> listener : eventListeners) {
-            try {
-                ((IGameEventListener<T>) listener).onEvent(event);
-            } catch (Exception e) {
-                logger.error("Error notifying listener {} of event {}",
-                        listener.getClass().getSimpleName(), event.getEventType(), e);
-            }
-        }
+    @Override
+    public boolean hasListeners(Class<? extends GameEvent> eventClass) {
+        return registry.listenersFor(eventClass).length > 0;
     }
 
     @Override
     public <T extends GameEvent> void subscribe(Class<T> eventClass, IGameEventListener<T> listener) {
-        if (eventClass == null || listener == null) {
-            throw new IllegalArgumentException("Event class and listener must not be null");
-        }
-
-        listeners.computeIfAbsent(eventClass, k -> new CopyOnWriteArrayList<>()).add(listener);
-        logger.debug("Listener {} subscribed to {}",
-                listener.getClass().getSimpleName(), eventClass.getSimpleName());
+        registry.subscribe(eventClass, listener);
     }
 
     @Override
     public <T extends GameEvent> void unsubscribe(Class<T> eventClass, IGameEventListener<T> listener) {
-        if (eventClass == null || listener == null) {
-            return;
-        }
-
-        List<IGameEventListener<? extends GameEvent>> eventListeners = listeners.get(eventClass);
-        if (eventListeners != null) {
-            eventListeners.remove(listener);
-            logger.debug("Listener {} unsubscribed from {}",
-                    listener.getClass().getSimpleName(), eventClass.getSimpleName());
-        }
+        registry.unsubscribe(eventClass, listener);
     }
 
     @Override
     public void clear() {
-        listeners.clear();
+        registry.clear();
         logger.info("All event listeners cleared");
     }
 
@@ -0,0 +1,100 @@
+package hr.bmestric.sevens.events;
+
+import hr.bmestric.sevens.events.interfaces.IGameEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Subscriptions shared by the event buses. An event goes to the listeners of its class and
+ * of every superclass, so a listener of GameEvent receives everything. The listeners for each
+ * concrete event class are resolved once into an array and cached until the next change.
+ */
+final class ListenerRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(ListenerRegistry.class);
+    private static final IGameEventListener<?>[] NO_LISTENERS = new IGameEventListener<?>[0];
+
+    private final Map<Class<? extends GameEvent>, List<IGameEventListener<? extends GameEvent>>> listeners;
+    // Replaced rather than cleared on change, so a publisher resolving concurrently cannot cache a stale entry
+    private volatile Map<Class<?>, IGameEventListener<?>[]> resolved;
+
+    ListenerRegistry() {
+        this.listeners = new ConcurrentHashMap<>();
+        this.resolved = new ConcurrentHashMap<>();
+    }
+
+    <T extends GameEvent> void subscribe(Class<T> eventClass, IGameEventListener<T> listener) {
+        if (eventClass == null || listener == null) {
+            throw new IllegalArgumentException("Event class and listener must not be null");
+        }
+
+        listeners.computeIfAbsent(eventClass, k -> new CopyOnWriteArrayList<>()).add(listener);
+        invalidate();
+        logger.debug("Listener {} subscribed to {}",
+                listener.getClass().getSimpleName(), eventClass.getSimpleName());
+    }
+
+    <T extends GameEvent> void unsubscribe(Class<T> eventClass, IGameEventListener<T> listener) {
+        if (eventClass == null || listener == null) {
+            return;
+        }
+
+        List<IGameEventListener<? extends GameEvent>> eventListeners = listeners.get(eventClass);
+        if (eventListeners != null) {
+            eventListeners.remove(listener);
+            invalidate();
+            logger.debug("Listener {} unsubscribed from {}",
+                    listener.getClass().getSimpleName(), eventClass.getSimpleName());
+        }
+    }
+
+    void clear() {
+        listeners.clear();
+        invalidate();
+    }
+
+    // Empty when nothing listens; the array is shared and must not be modified.
+    IGameEventListener<?>[] listenersFor(Class<?> eventClass) {
+        Map<Class<?>, IGameEventListener<?>[]> cache = resolved;
+        IGameEventListener<?>[] eventListeners = cache.get(eventClass);
+        if (eventListeners == null) {
+            eventListeners = resolve(eventClass);
+            cache.putIfAbsent(eventClass, eventListeners);
+        }
+        return eventListeners;
+    }
+
+    // Listeners of the class itself first, then of each superclass; one subscribed to several is called once.
+    private IGameEventListener<?>[] resolve(Class<?> eventClass) {
+        Set<IGameEventListener<?>> matching = new LinkedHashSet<>();
+        for (Class<?> type = eventClass; type != null && GameEvent.class.isAssignableFrom(type); type = type.getSuperclass()) {
+            List<IGameEventListener<? extends GameEvent>> typeListeners = listeners.get(type);
+            if (typeListeners != null) {
+                matching.addAll(typeListeners);
+            }
+        }
+        return matching.isEmpty() ? NO_LISTENERS : matching.toArray(NO_LISTENERS);
+    }
+
+    private void invalidate() {
+        resolved = new ConcurrentHashMap<>();
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T extends GameEvent> void notifyListeners(T event, IGameEventListener<?>[] eventListeners) {
+        for (IGameEventListener<?> listener : eventListeners) {
+            try {
+                ((IGameEventListener<T>) listener).onEvent(event);
+            } catch (Exception e) {
+                logger.error("Error notifying listener {} of event {}",
+                        listener.getClass().getSimpleName(), event.getEventType(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package hr.bmestric.sevens.events;
+
+import hr.bmestric.sevens.events.interfaces.IGameEventBus;
+import hr.bmestric.sevens.events.interfaces.IGameEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous event bus for high event rates, such as simulations and spectator feeds.
+ * Publishers claim a sequence number and fill a preallocated slot of a power-of-two ring;
+ * a single consumer thread delivers the events in sequence order. Publishing allocates
+ * nothing and only waits when the ring is full. Dispatch is the same as GameEventBus.
+ */
+public final class RingBufferEventBus implements IGameEventBus {
+    private static final Logger logger = LoggerFactory.getLogger(RingBufferEventBus.class);
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    // How the consumer waits for events, and a publisher for room in a full ring.
+    public enum WaitStrategy {
+        // Lowest latency, but keeps a core busy; only for machines with a core to spare
+        BUSY_SPIN,
+        // Spins briefly, then yields the core between checks
+        YIELD,
+        // Spins and yields briefly, then parks; next to no CPU when idle
+        PARK;
+
+        private static final int SPIN_TRIES = 100;
+        private static final int YIELD_TRIES = 200;
+        private static final long PARK_NANOS = 50_000L;
+
+        // attempt counts the checks of the current wait, from 0; returns the next count, capped
+        // once the strategy reaches its final phase so a long idle period cannot overflow it.
+        int idle(int attempt) {
+            if (this == BUSY_SPIN || attempt < SPIN_TRIES) {
+                Thread.onSpinWait();
+            } else if (this == YIELD || attempt < YIELD_TRIES) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+            return Math.min(attempt + 1, YIELD_TRIES);
+        }
+    }
+
+    private static final class Slot {
+        // Written last by the publisher; the slot holds event number `sequence` once this is set
+        volatile long sequence = -1L;
+        GameEvent event;
+        IGameEventListener<?>[] listeners;
+    }
+
+    private final ListenerRegistry registry;
+    private final Slot[] ring;
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+    // Last sequence taken by a publisher
+    private final AtomicLong claimed;
+    // Last sequence the consumer has taken out of the ring
+    private final AtomicLong consumed;
+    private final Thread consumer;
+    private volatile boolean running;
+
+    public RingBufferEventBus() {
+        this(DEFAULT_CAPACITY, WaitStrategy.PARK);
+    }
+
+    public RingBufferEventBus(int capacity, WaitStrategy waitStrategy) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        if (waitStrategy == null) {
+            throw new IllegalArgumentException("Wait strategy must not be null");
+        }
+        this.registry = new ListenerRegistry();
+        this.ring = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            ring[i] = new Slot();
+        }
+        this.mask = capacity - 1;
+        this.waitStrategy = waitStrategy;
+        this.claimed = new AtomicLong(-1L);
+        this.consumed = new AtomicLong(-1L);
+        this.running = true;
+        this.consumer = new Thread(this::consume, "EventBus-RingConsumer");
+        consumer.setDaemon(true);
+        consumer.start();
+
+        logger.info("RingBufferEventBus created with {} slots, {} wait strategy", capacity, waitStrategy);
+    }
+
+    @Override
+    public <T extends GameEvent> void publish(T event) {
+        if (event == null) {
+            logger.warn("Attempted to publish null event");
+            return;
+        }
+
+        IGameEventListener<?>[] eventListeners = registry.listenersFor(event.getClass());
+        if (eventListeners.length == 0) {
+            logger.debug("No listeners registered for event type: {}", event.getClass().getSimpleName());
+            return;
+        }
+        if (!running) {
+            logger.warn("Event bus is shut down, dropping event {}", event.getEventType());
+            return;
+        }
+
+        long sequence;
+        int attempt = 0;
+        while (true) {
+            long last = claimed.get();
+            sequence = last + 1;
+            if (sequence - ring.length > consumed.get()) {
+                if (Thread.currentThread() == consumer) {
+                    // A listener publishing into a full ring would wait on itself forever
+                    ListenerRegistry.notifyListeners(event, eventListeners);
+                    return;
+                }
+                if (!running) {
+                    logger.warn("Event bus is shut down, dropping event {}", event.getEventType());
+                    return;
+                }
+                attempt = waitStrategy.idle(attempt);
+            } else if (claimed.compareAndSet(last, sequence)) {
+                break;
+            }
+        }
+
+        Slot slot = ring[(int) sequence & mask];
+        slot.event = event;
+        slot.listeners = eventListeners;
+        slot.sequence = sequence;
+    }
+
+    private void consume() {
+        long next = 0L;
+        int attempt = 0;
+        while (true) {
+            Slot slot = ring[(int) next & mask];
+            if (slot.sequence == next) {
+                GameEvent event = slot.event;
+                IGameEventListener<?>[] eventListeners = slot.listeners;
+                slot.event = null;
+                slot.listeners = null;
+                // Hand the slot back before delivering, so a slow listener does not hold up publishers
+                consumed.set(next);
+                ListenerRegistry.notifyListeners(event, eventListeners);
+                next++;
+                attempt = 0;
+            } else if (!running && next > claimed.get()) {
+                // Every claimed event has been delivered
+                return;
+            } else {
+                attempt = waitStrategy.idle(attempt);
+            }
+        }
+    }
+
+    @Override
+    public boolean hasListeners(Class<? extends GameEvent> eventClass) {
+        return registry.listenersFor(eventClass).length > 0;
+    }
+
+    @Override
+    public <T extends GameEvent> void subscribe(Class<T> eventClass, IGameEventListener<T> listener) {
+        registry.subscribe(eventClass, listener);
+    }
+
+    @Override
+    public <T extends GameEvent> void unsubscribe(Class<T> eventClass, IGameEventListener<T> listener) {
+        registry.unsubscribe(eventClass, listener);
+    }
+
+    @Override
+    public void clear() {
+        registry.clear();
+        logger.info("All event listeners cleared");
+    }
+
+    // Events already published are still delivered, as with GameEventBus.
+    @Override
+    public void shutdown() {
+        clear();
+
+        running = false;
+        try {
+            consumer.join(5_000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (consumer.isAlive()) {
+            logger.warn("Event bus consumer still delivering after shutdown");
+        }
+
+        logger.info("RingBufferEventBus shut down");
+    }
+}
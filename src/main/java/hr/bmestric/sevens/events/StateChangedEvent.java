@@ -2,18 +2,30 @@ package hr.bmestric.sevens.events;
 
 import hr.bmestric.sevens.model.GameState;
 
+/**
+ * A committed change to a game. Events from one engine may reach listeners out of order when
+ * commands run on several threads; the version, which only ever increases, tells a consumer
+ * which state is newer.
+ */
 public class StateChangedEvent extends GameEvent {
     private final GameState gameState;
     private final String changeDescription;
+    private final long version;
 
     public StateChangedEvent(GameState gameState, String changeDescription) {
         super("STATE_CHANGED");
         this.gameState = gameState;
         this.changeDescription = changeDescription;
+        this.version = gameState.getVersion();
     }
 
+    // A private copy for each call: the event is shared by every listener and must not change under them.
     public GameState getGameState() {
-        return gameState;
+        return gameState.copy();
+    }
+
+    public long getVersion() {
+        return version;
     }
 
     public String getChangeDescription() {
@@ -22,7 +34,7 @@ public class StateChangedEvent extends GameEvent {
 
     @Override
     public String toString() {
-        return String.format("StateChangedEvent{description='%s', status=%s, timestamp=%s}",
-                changeDescription, gameState.getGameStatus(), getTimestamp());
+        return String.format("StateChangedEvent{description='%s', version=%d, status=%s, timestamp=%s}",
+                changeDescription, version, gameState.getGameStatus(), getTimestamp());
     }
 }
@@ -4,6 +4,8 @@ import hr.bmestric.sevens.events.GameEvent;
 
 public interface IGameEventBus {
     <T extends GameEvent> void publish(T event);
+    // Cheap check for publishers, so events nobody receives need not be built at all.
+    boolean hasListeners(Class<? extends GameEvent> eventClass);
     <T extends GameEvent> void subscribe(Class<T> eventClass, IGameEventListener<T> listener);
     <T extends GameEvent> void unsubscribe(Class<T> eventClass, IGameEventListener<T> listener);
     void clear();
@@ -0,0 +1,186 @@
+package hr.bmestric.sevens.host;
+
+import hr.bmestric.sevens.engine.InvalidMoveException;
+import hr.bmestric.sevens.engine.MoveTicket;
+import hr.bmestric.sevens.engine.interfaces.IGameEngine;
+import hr.bmestric.sevens.model.Card;
+import hr.bmestric.sevens.model.GameState;
+import hr.bmestric.sevens.model.Player;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * One state-changing request for a game. Commands are immutable, so a {@link GameMailbox}
+ * journal can be stored and replayed against a fresh engine to reproduce a game. A new game
+ * carries its deal seed so replay deals the same cards.
+ */
+public final class GameCommand implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public enum Type {
+        START_NEW_GAME,
+        PLAY_CARDS,
+        PASS_TURN,
+        UNDO_LAST_MOVE,
+        END_GAME,
+        RESET_GAME,
+        RESTORE_STATE
+    }
+
+    private final Type type;
+    private final String gameId;
+    // Copies held in a List.of list, which is serializable
+    @SuppressWarnings("serial")
+    private final List<Player> players;
+    private final long seed;
+    private final String playerId;
+    // Always built with List.of or List.copyOf, whose lists are serializable
+    @SuppressWarnings("serial")
+    private final List<Card> cards;
+    private final boolean cancelled;
+    private final GameState state;
+    // Lets the engine that issued it skip validating the move again; never journaled to disk
+    private final transient MoveTicket ticket;
+
+    private GameCommand(Type type, String gameId, List<Player> players, long seed, String playerId,
+                        List<Card> cards, boolean cancelled, GameState state, MoveTicket ticket) {
+        this.type = type;
+        this.gameId = gameId;
+        this.players = players;
+        this.seed = seed;
+        this.playerId = playerId;
+        this.cards = cards;
+        this.cancelled = cancelled;
+        this.state = state;
+        this.ticket = ticket;
+    }
+
+    private static GameCommand of(Type type) {
+        return new GameCommand(type, null, List.of(), 0L, null, List.of(), false, null, null);
+    }
+
+    // The players are copied so later changes by the caller cannot leak into the journal.
+    public static GameCommand startNewGame(String gameId, List<Player> players, long seed) {
+        if (players == null || players.size() != 2) {
+            throw new IllegalArgumentException("Game requires exactly 2 players");
+        }
+        return new GameCommand(Type.START_NEW_GAME, gameId, List.of(players.get(0).copy(), players.get(1).copy()),
+                seed, null, List.of(), false, null, null);
+    }
+
+    public static GameCommand playCards(String playerId, List<Card> cards) {
+        if (cards == null) {
+            throw new IllegalArgumentException("Cards cannot be null");
+        }
+        return new GameCommand(Type.PLAY_CARDS, null, List.of(), 0L, playerId, List.copyOf(cards), false, null, null);
+    }
+
+    // Journaled as the move it carries; only the engine that issued the ticket commits it directly.
+    public static GameCommand commitMove(MoveTicket ticket) {
+        if (ticket == null) {
+            throw new IllegalArgumentException("Ticket cannot be null");
+        }
+        return new GameCommand(Type.PLAY_CARDS, null, List.of(), 0L, ticket.getPlayerId(),
+                List.copyOf(ticket.getCards()), false, null, ticket);
+    }
+
+    public static GameCommand passTurn(String playerId) {
+        return new GameCommand(Type.PASS_TURN, null, List.of(), 0L, playerId, List.of(), false, null, null);
+    }
+
+    public static GameCommand undoLastMove() {
+        return of(Type.UNDO_LAST_MOVE);
+    }
+
+    public static GameCommand endGame(boolean cancelled) {
+        return new GameCommand(Type.END_GAME, null, List.of(), 0L, null, List.of(), cancelled, null, null);
+    }
+
+    public static GameCommand resetGame() {
+        return of(Type.RESET_GAME);
+    }
+
+    // The state is copied so later changes by the caller cannot leak into the journal.
+    public static GameCommand restoreState(GameState state) {
+        if (state == null) {
+            throw new IllegalArgumentException("Cannot restore null game state");
+        }
+        return new GameCommand(Type.RESTORE_STATE, state.getGameId(), List.of(), 0L, null, List.of(), false,
+                state.copy(), null);
+    }
+
+    // Returns the state after the command, which is exact only while the caller is the engine's
+    // single writer; an undo with nothing to undo returns null.
+    public GameState applyTo(IGameEngine engine) throws InvalidMoveException {
+        switch (type) {
+            case START_NEW_GAME:
+                engine.startNewGame(gameId, players, seed);
+                break;
+            case PLAY_CARDS:
+                if (ticket != null && ticket.isIssuedBy(engine)) {
+                    return engine.commitMove(ticket);
+                }
+                return engine.playCards(playerId, cards);
+            case PASS_TURN:
+                engine.passTurn(playerId);
+                break;
+            case UNDO_LAST_MOVE:
+                if (!engine.undoLastMove()) {
+                    return null;
+                }
+                break;
+            case END_GAME:
+                engine.endGame(cancelled);
+                break;
+            case RESET_GAME:
+                engine.resetGame();
+                break;
+            case RESTORE_STATE:
+                engine.restoreState(state);
+                break;
+            default:
+                throw new IllegalStateException("Unknown command type: " + type);
+        }
+        return engine.getState();
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    // The id a new or restored game will have; null for other commands.
+    public String getGameId() {
+        return gameId;
+    }
+
+    public String getPlayerId() {
+        return playerId;
+    }
+
+    public List<Card> getCards() {
+        return cards;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public String toString() {
+        switch (type) {
+            case START_NEW_GAME:
+                return "START_NEW_GAME{" + gameId + ", seed=" + seed + '}';
+            case PLAY_CARDS:
+                return "PLAY_CARDS{" + playerId + ", " + cards + '}';
+            case PASS_TURN:
+                return "PASS_TURN{" + playerId + '}';
+            case END_GAME:
+                return "END_GAME{cancelled=" + cancelled + '}';
+            case RESTORE_STATE:
+                return "RESTORE_STATE{" + gameId + '}';
+            default:
+                return type.name();
+        }
+    }
+}
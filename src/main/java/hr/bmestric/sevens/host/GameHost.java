@@ -0,0 +1,162 @@
+package hr.bmestric.sevens.host;
+
+import hr.bmestric.sevens.engine.GameEngine;
+import hr.bmestric.sevens.engine.interfaces.IGameEngine;
+import hr.bmestric.sevens.host.interfaces.IGameHost;
+import hr.bmestric.sevens.model.GameState;
+import hr.bmestric.sevens.model.Player;
+import hr.bmestric.sevens.util.ThreadingHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Runs many independent games in one JVM, keyed by game id. Games share nothing but the
+ * registry map, so there is no global lock on the move path. Tables that see no calls for
+ * the idle timeout are evicted by a background sweep. Eviction, removal and shutdown close
+ * the table's mailbox: a handle kept by a caller can still read the last state, but every
+ * write on it fails with IllegalStateException.
+ */
+public class GameHost implements IGameHost {
+    private static final Logger logger = LoggerFactory.getLogger(GameHost.class);
+    private static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(30);
+    private static final Duration DEFAULT_SWEEP_INTERVAL = Duration.ofMinutes(1);
+
+    private final ConcurrentMap<String, HostedGame> games;
+    private final Supplier<GameEngine> engineFactory;
+    private final long idleTimeoutNanos;
+    private final boolean journalEnabled;
+    private final ScheduledExecutorService evictionExecutor;
+    private final long sweepIntervalMillis;
+    private final AtomicBoolean sweeperStarted;
+
+    public GameHost() {
+        this(DEFAULT_IDLE_TIMEOUT, DEFAULT_SWEEP_INTERVAL, GameEngine::new, false);
+    }
+
+    public GameHost(Duration idleTimeout, Duration sweepInterval, Supplier<GameEngine> engineFactory,
+                    boolean journalEnabled) {
+        if (idleTimeout == null || idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("Idle timeout must be positive");
+        }
+        if (sweepInterval == null || sweepInterval.isNegative() || sweepInterval.isZero()) {
+            throw new IllegalArgumentException("Sweep interval must be positive");
+        }
+        this.games = new ConcurrentHashMap<>();
+        this.engineFactory = engineFactory;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.journalEnabled = journalEnabled;
+        this.evictionExecutor = ThreadingHelper.createScheduledThreadPool(1, "GameHost-Eviction");
+        this.sweepIntervalMillis = sweepInterval.toMillis();
+        this.sweeperStarted = new AtomicBoolean();
+
+        logger.info("GameHost created, idle timeout {}", idleTimeout);
+    }
+
+    @Override
+    public String createGame(List<Player> players) {
+        String gameId = UUID.randomUUID().toString();
+        HostedGame game = new HostedGame(gameId, engineFactory.get(), journalEnabled);
+        game.startNewGame(players);
+        games.put(gameId, game);
+        startSweeper();
+        logger.debug("Created game {} ({} active)", gameId, games.size());
+        return gameId;
+    }
+
+    // Registers a saved game under its own id. A table already hosting that id is restored in
+    // place, through its mailbox, so handles to it stay on the one game.
+    @Override
+    public String restoreGame(GameState state) {
+        if (state == null) {
+            throw new IllegalArgumentException("Cannot restore null game state");
+        }
+        String gameId = state.getGameId();
+        while (true) {
+            HostedGame game = games.computeIfAbsent(gameId,
+                    id -> new HostedGame(id, engineFactory.get(), journalEnabled));
+            try {
+                game.restoreState(state);
+                break;
+            } catch (IllegalStateException e) {
+                if (!game.getMailbox().isClosed()) {
+                    throw e;
+                }
+                // Evicted or removed meanwhile; restore into a new table
+            }
+        }
+        startSweeper();
+        logger.debug("Restored game {} ({} active)", gameId, games.size());
+        return gameId;
+    }
+
+    // Scheduled with the first table rather than in the constructor, so `this` never escapes construction.
+    private void startSweeper() {
+        if (sweeperStarted.compareAndSet(false, true)) {
+            evictionExecutor.scheduleWithFixedDelay(this::evictIdleGames,
+                    sweepIntervalMillis, sweepIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public Optional<IGameEngine> findGame(String gameId) {
+        return Optional.ofNullable(games.get(gameId));
+    }
+
+    public Optional<HostedGame> findHostedGame(String gameId) {
+        return Optional.ofNullable(games.get(gameId));
+    }
+
+    @Override
+    public boolean removeGame(String gameId) {
+        HostedGame removed = games.remove(gameId);
+        if (removed == null) {
+            return false;
+        }
+        removed.getMailbox().close();
+        return true;
+    }
+
+    @Override
+    public int getGameCount() {
+        return games.size();
+    }
+
+    @Override
+    public int evictIdleGames() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (HostedGame game : games.values()) {
+            if (now - game.getLastAccessNanos() > idleTimeoutNanos
+                    && games.remove(game.getGameId(), game)) {
+                game.getMailbox().close();
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            logger.info("Evicted {} idle games ({} active)", evicted, games.size());
+        }
+        return evicted;
+    }
+
+    @Override
+    public void shutdown() {
+        ThreadingHelper.shutdownGracefully(evictionExecutor, 5);
+        // As with removal, handles callers still hold stop taking queued commands
+        for (HostedGame game : games.values()) {
+            game.getMailbox().close();
+        }
+        games.clear();
+        logger.info("GameHost shut down");
+    }
+}
@@ -0,0 +1,156 @@
+package hr.bmestric.sevens.host;
+
+import hr.bmestric.sevens.engine.InvalidMoveException;
+import hr.bmestric.sevens.engine.interfaces.IGameEngine;
+import hr.bmestric.sevens.model.Card;
+import hr.bmestric.sevens.model.GameState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Single-writer command queue for one game. Callers enqueue commands and get a future of
+ * the resulting state; a virtual thread is started only while commands are pending and
+ * applies them one at a time, so the engine lock is never contended. Commands are applied
+ * in queue order, which is also the order of the optional journal used for replay. Results
+ * are exact as long as the mailbox is the engine's only writer.
+ */
+public class GameMailbox {
+    private static final Logger logger = LoggerFactory.getLogger(GameMailbox.class);
+    // The mailbox whose commands the current thread is applying; each drain runs on a fresh thread
+    private static final ThreadLocal<GameMailbox> DRAINING = new ThreadLocal<>();
+
+    private final IGameEngine engine;
+    private final String name;
+    private final ConcurrentLinkedQueue<Envelope> queue;
+    // Number of submitted commands not yet applied; the submitter that raises it from 0 starts the consumer.
+    private final AtomicInteger pending;
+    private final List<GameCommand> journal;
+    private volatile boolean closed;
+
+    public GameMailbox(IGameEngine engine, String name, boolean journalEnabled) {
+        if (engine == null) {
+            throw new IllegalArgumentException("Engine cannot be null");
+        }
+        this.engine = engine;
+        this.name = name;
+        this.queue = new ConcurrentLinkedQueue<>();
+        this.pending = new AtomicInteger();
+        this.journal = journalEnabled ? new ArrayList<>() : null;
+    }
+
+    public CompletableFuture<GameState> submit(GameCommand command) {
+        if (command == null) {
+            throw new IllegalArgumentException("Command cannot be null");
+        }
+        CompletableFuture<GameState> result = new CompletableFuture<>();
+        if (closed) {
+            result.completeExceptionally(new IllegalStateException("Mailbox " + name + " is closed"));
+            return result;
+        }
+        if (DRAINING.get() == this) {
+            // Submitted while a command is applied, e.g. by a listener; queuing it would wait on this thread forever
+            apply(command, result);
+            return result;
+        }
+
+        queue.offer(new Envelope(command, result));
+        if (pending.getAndIncrement() == 0) {
+            Thread.ofVirtual().name("GameMailbox-" + name).start(this::drain);
+        }
+        return result;
+    }
+
+    public CompletableFuture<GameState> playCards(String playerId, List<Card> cards) {
+        return submit(GameCommand.playCards(playerId, cards));
+    }
+
+    public CompletableFuture<GameState> passTurn(String playerId) {
+        return submit(GameCommand.passTurn(playerId));
+    }
+
+    public CompletableFuture<GameState> endGame(boolean cancelled) {
+        return submit(GameCommand.endGame(cancelled));
+    }
+
+    public CompletableFuture<GameState> restoreState(GameState state) {
+        return submit(GameCommand.restoreState(state));
+    }
+
+    // Every envelope is offered before pending is incremented, so poll() never sees an empty queue here.
+    private void drain() {
+        DRAINING.set(this);
+        do {
+            Envelope envelope = queue.poll();
+            apply(envelope.command, envelope.result);
+        } while (pending.decrementAndGet() > 0);
+    }
+
+    private void apply(GameCommand command, CompletableFuture<GameState> result) {
+        // Rejected commands are journaled too, replay must see exactly what the engine saw
+        if (journal != null) {
+            synchronized (journal) {
+                journal.add(command);
+            }
+        }
+        try {
+            result.complete(command.applyTo(engine));
+        } catch (InvalidMoveException e) {
+            logger.debug("Mailbox {} rejected {}: {}", name, command, e.getMessage());
+            result.completeExceptionally(e);
+        } catch (RuntimeException | Error e) {
+            // An Error must not escape drain() either: pending would stay above zero and no later submit would drain
+            logger.error("Mailbox {} failed to apply {}", name, command, e);
+            result.completeExceptionally(e);
+        }
+    }
+
+    public List<GameCommand> getJournal() {
+        if (journal == null) {
+            return List.of();
+        }
+        synchronized (journal) {
+            return List.copyOf(journal);
+        }
+    }
+
+    // Re-applies journaled commands in order on the calling thread; rejected commands are skipped.
+    public static GameState replay(IGameEngine engine, List<GameCommand> commands) {
+        for (int i = 0; i < commands.size(); i++) {
+            try {
+                commands.get(i).applyTo(engine);
+            } catch (InvalidMoveException e) {
+                logger.debug("Replay skipped rejected command #{}: {}", i, e.getMessage());
+            }
+        }
+        return engine.getState();
+    }
+
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    // Commands already queued are still applied; new ones fail immediately.
+    public void close() {
+        closed = true;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    private static final class Envelope {
+        private final GameCommand command;
+        private final CompletableFuture<GameState> result;
+
+        private Envelope(GameCommand command, CompletableFuture<GameState> result) {
+            this.command = command;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package hr.bmestric.sevens.host;
+
+import hr.bmestric.sevens.engine.GameEngine;
+import hr.bmestric.sevens.engine.InvalidMoveException;
+import hr.bmestric.sevens.engine.MoveTicket;
+import hr.bmestric.sevens.engine.StateSnapshot;
+import hr.bmestric.sevens.engine.interfaces.IGameEngine;
+import hr.bmestric.sevens.model.Card;
+import hr.bmestric.sevens.model.GameState;
+import hr.bmestric.sevens.model.Player;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Handle to one table of a {@link GameHost}. Each table has its own engine and lock, so
+ * moves in different games never contend. Every call refreshes the idle timer; games
+ * started through the handle take the table's id, and only a game with that id can be
+ * started or restored on it. The table's {@link GameMailbox} is the engine's only writer: the
+ * write methods submit a command and wait for it, so with journaling on every change is
+ * journaled and replays to the same game.
+ */
+public final class HostedGame implements IGameEngine {
+    private final String gameId;
+    private final GameEngine engine;
+    private final GameMailbox mailbox;
+    private volatile long lastAccessNanos;
+
+    HostedGame(String gameId, GameEngine engine, boolean journalEnabled) {
+        this.gameId = gameId;
+        this.engine = engine;
+        this.lastAccessNanos = System.nanoTime();
+        // Table checks are made in submit(), before a command can reach the mailbox
+        this.mailbox = new GameMailbox(engine, gameId, journalEnabled);
+    }
+
+    public String getGameId() {
+        return gameId;
+    }
+
+    GameMailbox getMailbox() {
+        return mailbox;
+    }
+
+    // Empty unless the host journals its tables.
+    public List<GameCommand> getJournal() {
+        return mailbox.getJournal();
+    }
+
+    public CompletableFuture<GameState> submit(GameCommand command) {
+        touch();
+        if (command != null && command.getGameId() != null && !gameId.equals(command.getGameId())) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException(
+                    "Game " + command.getGameId() + " does not belong to table " + gameId));
+        }
+        return mailbox.submit(command);
+    }
+
+    // Runs the command on the mailbox and waits, rethrowing its failure as thrown by the engine.
+    private GameState write(GameCommand command) {
+        try {
+            return submit(command).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    private void touch() {
+        lastAccessNanos = System.nanoTime();
+    }
+
+    @Override
+    public void startNewGame(List<Player> players) {
+        startNewGame(gameId, players, ThreadLocalRandom.current().nextLong());
+    }
+
+    @Override
+    public void startNewGame(String gameId, List<Player> players, long seed) {
+        write(GameCommand.startNewGame(gameId, players, seed));
+    }
+
+    @Override
+    public GameState getState() {
+        touch();
+        return engine.getState();
+    }
+
+    @Override
+    public StateSnapshot getSnapshot() {
+        touch();
+        return engine.getSnapshot();
+    }
+
+    @Override
+    public GameState playCards(String playerId, List<Card> cards) throws InvalidMoveException {
+        return write(GameCommand.playCards(playerId, cards));
+    }
+
+    @Override
+    public boolean canPlayCards(String playerId, List<Card> cards) {
+        touch();
+        return engine.canPlayCards(playerId, cards);
+    }
+
+    @Override
+    public MoveTicket validateMove(String playerId, List<Card> cards) {
+        touch();
+        return engine.validateMove(playerId, cards);
+    }
+
+    @Override
+    public GameState commitMove(MoveTicket ticket) throws InvalidMoveException {
+        // Checked here as well, so a foreign ticket is never journaled
+        if (ticket == null || !ticket.isIssuedBy(engine)) {
+            throw new IllegalArgumentException("Ticket was not issued by this engine");
+        }
+        return write(GameCommand.commitMove(ticket));
+    }
+
+    @Override
+    public void passTurn(String playerId) throws InvalidMoveException {
+        write(GameCommand.passTurn(playerId));
+    }
+
+    @Override
+    public boolean undoLastMove() {
+        return write(GameCommand.undoLastMove()) != null;
+    }
+
+    @Override
+    public void endGame(boolean cancelled) {
+        write(GameCommand.endGame(cancelled));
+    }
+
+    @Override
+    public void resetGame() {
+        write(GameCommand.resetGame());
+    }
+
+    @Override
+    public void restoreState(GameState state) {
+        write(GameCommand.restoreState(state));
+    }
+
+    @Override
+    public String toString() {
+        return "HostedGame{gameId='" + gameId + "', " + engine.getSnapshot() + '}';
+    }
+}
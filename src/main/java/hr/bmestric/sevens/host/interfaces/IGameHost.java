@@ -0,0 +1,18 @@
+package hr.bmestric.sevens.host.interfaces;
+
+import hr.bmestric.sevens.engine.interfaces.IGameEngine;
+import hr.bmestric.sevens.model.GameState;
+import hr.bmestric.sevens.model.Player;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface IGameHost {
+    String createGame(List<Player> players);
+    String restoreGame(GameState state);
+    Optional<IGameEngine> findGame(String gameId);
+    boolean removeGame(String gameId);
+    int getGameCount();
+    int evictIdleGames();
+    void shutdown();
+}
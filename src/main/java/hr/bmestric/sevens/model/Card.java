@@ -3,18 +3,48 @@ package hr.bmestric.sevens.model;
 import hr.bmestric.sevens.model.enums.Rank;
 import hr.bmestric.sevens.model.enums.Suit;
 
+import java.io.ObjectStreamException;
 import java.io.Serializable;
-import java.util.Objects;
 
+/**
+ * Flyweight card. All 32 instances are created once and shared, so equality is identity
+ * and {@link #getIndex()} doubles as the bit position used by {@link CardSet}.
+ */
 public final class Card implements Serializable,Comparable<Card> {
     private static final long serialVersionUID = 1L;
 
+    private static final Rank[] RANKS = Rank.values();
+    private static final Suit[] SUITS = Suit.values();
+    private static final Card[] CARDS = new Card[RANKS.length * SUITS.length];
+
+    static {
+        for (Suit suit : SUITS) {
+            for (Rank rank : RANKS) {
+                Card card = new Card(rank, suit);
+                CARDS[card.index] = card;
+            }
+        }
+    }
+
     private final Rank rank;
     private final Suit suit;
+    private final transient int index;
 
-    public Card(Rank rank, Suit suit) {
+    private Card(Rank rank, Suit suit) {
         this.rank = rank;
         this.suit = suit;
+        this.index = suit.ordinal() * RANKS.length + rank.ordinal();
+    }
+
+    public static Card of(Rank rank, Suit suit) {
+        if (rank == null || suit == null) {
+            throw new IllegalArgumentException("Rank and suit cannot be null");
+        }
+        return CARDS[suit.ordinal() * RANKS.length + rank.ordinal()];
+    }
+
+    public static Card fromIndex(int index) {
+        return CARDS[index];
     }
 
     public Rank getRank() {
@@ -25,6 +55,10 @@ public final class Card implements Serializable,Comparable<Card> {
         return suit;
     }
 
+    public int getIndex() {
+        return index;
+    }
+
     public int getPoints() {
         return rank.getPoints();
     }
@@ -41,25 +75,28 @@ public final class Card implements Serializable,Comparable<Card> {
         return this.suit == other.suit;
     }
 
+    // Map deserialized copies (save files, RMI) back to the canonical instance.
+    private Object readResolve() throws ObjectStreamException {
+        return of(rank, suit);
+    }
+
     @Override
     public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass()) return false;
-        Card card = (Card) o;
-        return rank == card.rank && suit == card.suit;
+        return this == o;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(rank, suit);
+        return index;
     }
 
     @Override
     public int compareTo(Card o) {
-        int rankComparison = Integer.compare(this.rank.getValue(), o.rank.getValue());
+        int rankComparison = Integer.compare(this.rank.ordinal(), o.rank.ordinal());
         if (rankComparison != 0) {
             return rankComparison;
         }
-        return this.suit.compareTo(o.suit);
+        return Integer.compare(this.suit.ordinal(), o.suit.ordinal());
     }
 
     @Override
@@ -0,0 +1,205 @@
+package hr.bmestric.sevens.model;
+
+import hr.bmestric.sevens.model.enums.Rank;
+import hr.bmestric.sevens.model.enums.Suit;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable set of cards backed by a single int bitmask. Bit index is
+ * {@link Card#getIndex()}, so the whole 32-card deck fits in one int.
+ * The static helpers work on raw masks so hot paths never need to allocate a CardSet.
+ */
+public final class CardSet implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final int RANK_COUNT = Rank.values().length;
+    public static final int SUIT_COUNT = Suit.values().length;
+    public static final int DECK_SIZE = RANK_COUNT * SUIT_COUNT;
+
+    public static final int EMPTY_MASK = 0;
+    public static final int FULL_MASK = -1;
+
+    private static final int[] RANK_MASKS = new int[RANK_COUNT];
+    private static final int[] SUIT_MASKS = new int[SUIT_COUNT];
+    // By leading rank: the cards that take a trick over, i.e. that rank plus the trumps
+    private static final int[] MATCHING_OR_TRUMP_MASKS = new int[RANK_COUNT];
+    private static final int POINTS_MASK;
+
+    static {
+        int points = 0;
+        for (Suit suit : Suit.values()) {
+            for (Rank rank : Rank.values()) {
+                int index = Card.of(rank, suit).getIndex();
+                RANK_MASKS[rank.ordinal()] |= 1 << index;
+                SUIT_MASKS[suit.ordinal()] |= 1 << index;
+                if (rank.getPoints() > 0) {
+                    points |= 1 << index;
+                }
+            }
+        }
+        POINTS_MASK = points;
+        for (Rank rank : Rank.values()) {
+            MATCHING_OR_TRUMP_MASKS[rank.ordinal()] = RANK_MASKS[rank.ordinal()] | RANK_MASKS[Rank.SEVEN.ordinal()];
+        }
+    }
+
+    public static final CardSet EMPTY = new CardSet(EMPTY_MASK);
+
+    private final int mask;
+
+    private CardSet(int mask) {
+        this.mask = mask;
+    }
+
+    public static CardSet of(int mask) {
+        return mask == EMPTY_MASK ? EMPTY : new CardSet(mask);
+    }
+
+    public static CardSet of(List<Card> cards) {
+        return of(maskOf(cards));
+    }
+
+    // Raw mask helpers
+
+    public static int indexOf(Card card) {
+        return card.getIndex();
+    }
+
+    public static int bit(Card card) {
+        return 1 << card.getIndex();
+    }
+
+    public static Card cardAt(int index) {
+        return Card.fromIndex(index);
+    }
+
+    public static int rankMask(Rank rank) {
+        return RANK_MASKS[rank.ordinal()];
+    }
+
+    public static int matchingOrTrumpMask(Rank leadingRank) {
+        return MATCHING_OR_TRUMP_MASKS[leadingRank.ordinal()];
+    }
+
+    public static int matchingOrTrumpMask(int leadingRankOrdinal) {
+        return MATCHING_OR_TRUMP_MASKS[leadingRankOrdinal];
+    }
+
+    public static int suitMask(Suit suit) {
+        return SUIT_MASKS[suit.ordinal()];
+    }
+
+    public static int pointsMask() {
+        return POINTS_MASK;
+    }
+
+    public static int maskOf(List<Card> cards) {
+        int result = EMPTY_MASK;
+        for (int i = 0; i < cards.size(); i++) {
+            result |= bit(cards.get(i));
+        }
+        return result;
+    }
+
+    public static int size(int mask) {
+        return Integer.bitCount(mask);
+    }
+
+    public static int points(int mask) {
+        return Integer.bitCount(mask & POINTS_MASK);
+    }
+
+    public static boolean contains(int mask, Card card) {
+        return (mask & bit(card)) != 0;
+    }
+
+    public static boolean containsRank(int mask, Rank rank) {
+        return (mask & rankMask(rank)) != 0;
+    }
+
+    public static int countRank(int mask, Rank rank) {
+        return Integer.bitCount(mask & rankMask(rank));
+    }
+
+    public static List<Card> toList(int mask) {
+        List<Card> cards = new ArrayList<>(Integer.bitCount(mask));
+        for (int bits = mask; bits != 0; bits &= bits - 1) {
+            cards.add(Card.fromIndex(Integer.numberOfTrailingZeros(bits)));
+        }
+        return cards;
+    }
+
+    // Instance view
+
+    public int mask() {
+        return mask;
+    }
+
+    public int size() {
+        return Integer.bitCount(mask);
+    }
+
+    public boolean isEmpty() {
+        return mask == EMPTY_MASK;
+    }
+
+    public boolean contains(Card card) {
+        return contains(mask, card);
+    }
+
+    public boolean containsRank(Rank rank) {
+        return containsRank(mask, rank);
+    }
+
+    public int countRank(Rank rank) {
+        return countRank(mask, rank);
+    }
+
+    public int points() {
+        return points(mask);
+    }
+
+    public CardSet with(Card card) {
+        return of(mask | bit(card));
+    }
+
+    public CardSet without(Card card) {
+        return of(mask & ~bit(card));
+    }
+
+    public CardSet union(CardSet other) {
+        return of(mask | other.mask);
+    }
+
+    public CardSet intersect(CardSet other) {
+        return of(mask & other.mask);
+    }
+
+    public CardSet complement() {
+        return of(~mask);
+    }
+
+    public List<Card> getCards() {
+        return Collections.unmodifiableList(toList(mask));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        return mask == ((CardSet) o).mask;
+    }
+
+    @Override
+    public int hashCode() {
+        return mask;
+    }
+
+    @Override
+    public String toString() {
+        return "CardSet" + toList(mask);
+    }
+}
@@ -0,0 +1,141 @@
+package hr.bmestric.sevens.model;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Append-only record of the cards of completed tricks, one byte per card in play order:
+ * the card index, the seat that played it and a flag on the first card of each trick.
+ * Every card is played at most once per game, so the whole history fits in 32 bytes.
+ */
+final class CompletedTrickLog implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final int CARD_BITS = 0x1F;
+    private static final int SEAT_BIT = 0x20;
+    private static final int TRICK_START_BIT = 0x40;
+
+    private final byte[] entries;
+    private int size;
+    private int trickCount;
+    private transient int mask;
+
+    CompletedTrickLog() {
+        this.entries = new byte[CardSet.DECK_SIZE];
+    }
+
+    private CompletedTrickLog(CompletedTrickLog other) {
+        this.entries = other.entries.clone();
+        this.size = other.size;
+        this.trickCount = other.trickCount;
+        this.mask = other.mask;
+    }
+
+    CompletedTrickLog copy() {
+        return new CompletedTrickLog(this);
+    }
+
+    void append(Trick trick) {
+        for (int i = 0; i < trick.size(); i++) {
+            Card card = trick.cardAt(i);
+            int entry = card.getIndex() | (trick.seatAt(i) == 1 ? SEAT_BIT : 0) | (i == 0 ? TRICK_START_BIT : 0);
+            entries[size++] = (byte) entry;
+            mask |= CardSet.bit(card);
+        }
+        if (trick.hasCards()) {
+            trickCount++;
+        }
+    }
+
+    // Moves the last trick back into the given empty trick, replaying each card with its seat.
+    void removeLast(Trick into) {
+        int start = startOf(trickCount - 1);
+        for (int i = start; i < size; i++) {
+            into.addCard(Card.fromIndex(entries[i] & CARD_BITS), seatOf(entries[i]));
+            mask &= ~(1 << (entries[i] & CARD_BITS));
+        }
+        size = start;
+        trickCount--;
+    }
+
+    int trickCount() {
+        return trickCount;
+    }
+
+    boolean isEmpty() {
+        return trickCount == 0;
+    }
+
+    int mask() {
+        return mask;
+    }
+
+    int mask(int seat) {
+        int result = CardSet.EMPTY_MASK;
+        for (int i = 0; i < size; i++) {
+            if (seatOf(entries[i]) == seat) {
+                result |= 1 << (entries[i] & CARD_BITS);
+            }
+        }
+        return result;
+    }
+
+    // Read-only list of tricks, each built on access from the log.
+    List<Trick> asTricks(String[] seatIds) {
+        return new AbstractList<>() {
+            @Override
+            public Trick get(int index) {
+                if (index < 0 || index >= trickCount) {
+                    throw new IndexOutOfBoundsException("Trick " + index + " of " + trickCount);
+                }
+                Trick trick = new Trick(seatIds);
+                int start = startOf(index);
+                for (int i = start; i < size; i++) {
+                    if (i > start && (entries[i] & TRICK_START_BIT) != 0) {
+                        break;
+                    }
+                    trick.addCard(Card.fromIndex(entries[i] & CARD_BITS), seatOf(entries[i]));
+                }
+                return trick;
+            }
+
+            @Override
+            public int size() {
+                return trickCount;
+            }
+        };
+    }
+
+    private int startOf(int trickIndex) {
+        int seen = -1;
+        for (int i = 0; i < size; i++) {
+            if ((entries[i] & TRICK_START_BIT) != 0 && ++seen == trickIndex) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("No trick " + trickIndex + " in log");
+    }
+
+    private static int seatOf(byte entry) {
+        return (entry & SEAT_BIT) != 0 ? 1 : 0;
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (entries == null || entries.length != CardSet.DECK_SIZE || size < 0 || size > entries.length) {
+            throw new IOException("Invalid trick log in stream");
+        }
+        for (int i = 0; i < size; i++) {
+            mask |= 1 << (entries[i] & CARD_BITS);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CompletedTrickLog" + Arrays.toString(Arrays.copyOf(entries, size));
+    }
+}
@@ -3,70 +3,189 @@ package hr.bmestric.sevens.model;
 import hr.bmestric.sevens.model.enums.Rank;
 import hr.bmestric.sevens.model.enums.Suit;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
+/**
+ * The 32 cards in draw order, held in an array with a cursor: order[cursor] is the top card
+ * and drawing only advances the cursor. Not thread-safe; the engine serializes access to
+ * the live deck and readers only see copies.
+ */
 public class Deck implements Serializable {
     private static final long serialVersionUID = 1L;
+    private static final int SIZE = CardSet.DECK_SIZE;
 
-    private final LinkedList<Card> cards;
+    // Saved games keep the original list form, so older save files still load
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("cards", LinkedList.class)
+    };
+
+    private transient Card[] order;
+    private transient int cursor;
+    private transient int mask;
 
     public Deck() {
-        this.cards = new LinkedList<>();
+        this.order = new Card[SIZE];
         initDeck();
     }
-    private Deck(List<Card> cards) {
-        this.cards = new java.util.LinkedList<>(cards);
+
+    private Deck(Deck other) {
+        this.order = other.order.clone();
+        this.cursor = other.cursor;
+        this.mask = other.mask;
     }
 
     private void initDeck() {
+        int i = 0;
         for (Suit suit : Suit.values()) {
             for (Rank rank : Rank.values()) {
-                cards.add(new Card(rank, suit));
+                order[i++] = Card.of(rank, suit);
+            }
+        }
+        cursor = 0;
+        mask = CardSet.FULL_MASK;
+    }
+
+    public void shuffle() {
+        shuffle(ThreadLocalRandom.current());
+    }
+
+    // Reproducible shuffle: the same seed always gives the same order.
+    public void shuffle(long seed) {
+        shuffle(new SplittableRandom(seed));
+    }
+
+    // Fisher-Yates over the cards still in the deck.
+    public void shuffle(RandomGenerator random) {
+        for (int i = SIZE - 1; i > cursor; i--) {
+            int j = cursor + random.nextInt(i - cursor + 1);
+            Card card = order[i];
+            order[i] = order[j];
+            order[j] = card;
+        }
+    }
+
+    /**
+     * Moves the given cards, all still in the deck, so they are drawn next after skipping
+     * {@code offset} cards. The cards they displace take their old places, so the rest of
+     * a shuffled deck stays shuffled.
+     */
+    public void placeOnTop(int offset, int cardsMask) {
+        if ((cardsMask & ~mask) != 0) {
+            throw new IllegalArgumentException("Cards are not in the deck: " + CardSet.of(cardsMask & ~mask));
+        }
+        if (offset < 0 || cursor + offset + Integer.bitCount(cardsMask) > SIZE) {
+            throw new IllegalArgumentException("Offset out of range: " + offset);
+        }
+        int target = cursor + offset;
+        for (int bits = cardsMask; bits != 0; bits &= bits - 1) {
+            Card card = Card.fromIndex(Integer.numberOfTrailingZeros(bits));
+            int from = indexOf(card);
+            order[from] = order[target];
+            order[target++] = card;
+        }
+    }
+
+    private int indexOf(Card card) {
+        for (int i = cursor; i < SIZE; i++) {
+            if (order[i] == card) {
+                return i;
             }
         }
+        return -1;
     }
 
-    public synchronized void shuffle() {
-        Collections.shuffle(cards, ThreadLocalRandom.current());
+    public Optional<Card> draw() {
+        return Optional.ofNullable(drawCard());
     }
 
-    public synchronized Optional<Card> draw() {
-        if (cards.isEmpty()) {
-            return Optional.empty();
+    // Null-returning draw for refills that should not allocate an Optional or a list.
+    public Card drawCard() {
+        if (cursor == SIZE) {
+            return null;
         }
-        return Optional.of(cards.removeFirst());
+        Card card = order[cursor++];
+        mask &= ~CardSet.bit(card);
+        return card;
+    }
+
+    // Puts a drawn card back on top of the deck; used when undoing a move.
+    void returnCard(Card card) {
+        order[--cursor] = card;
+        mask |= CardSet.bit(card);
     }
 
-    public synchronized List<Card> draw(int count) {
+    public List<Card> draw(int count) {
         if (count < 0) {
             throw new IllegalArgumentException("Cannot draw negative number of cards: " + count);
         }
 
-        List<Card> drawnCards = new ArrayList<>(count);
-        for (int i = 0; i < count && !cards.isEmpty(); i++) {
-            drawnCards.add(cards.removeFirst());
+        int end = Math.min(cursor + count, SIZE);
+        List<Card> drawnCards = Arrays.asList(Arrays.copyOfRange(order, cursor, end));
+        for (int i = cursor; i < end; i++) {
+            mask &= ~CardSet.bit(order[i]);
         }
+        cursor = end;
         return drawnCards;
     }
 
-    public synchronized int remaining() {
-        return cards.size();
+    public int remaining() {
+        return SIZE - cursor;
     }
-    public synchronized boolean isEmpty() {
-        return cards.isEmpty();
+
+    public boolean isEmpty() {
+        return cursor == SIZE;
     }
-    public synchronized List<Card> getCards() {
-        return Collections.unmodifiableList(new ArrayList<>(cards));
+
+    public boolean contains(Card card) {
+        return CardSet.contains(mask, card);
+    }
+
+    public CardSet getCardSet() {
+        return CardSet.of(mask);
+    }
+
+    public int getMask() {
+        return mask;
     }
 
-    public synchronized Deck copy() {
-        return new Deck(new ArrayList<>(this.cards));
+    public List<Card> getCards() {
+        return Collections.unmodifiableList(Arrays.asList(Arrays.copyOfRange(order, cursor, SIZE)));
+    }
+
+    public Deck copy() {
+        return new Deck(this);
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("cards", new LinkedList<>(Arrays.asList(order).subList(cursor, SIZE)));
+        out.writeFields();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        List<Card> cards = (List<Card>) in.readFields().get("cards", null);
+        if (cards == null || cards.size() > SIZE) {
+            throw new IOException("Invalid deck in stream");
+        }
+        // Remaining cards sit at the end of the array, drawn slots before the cursor stay empty
+        order = new Card[SIZE];
+        cursor = SIZE - cards.size();
+        for (int i = 0; i < cards.size(); i++) {
+            order[cursor + i] = cards.get(i);
+        }
+        mask = CardSet.maskOf(cards);
     }
 
     @Override
-    public synchronized String toString() {
-        return "Deck{remaining=" + cards.size() + " cards}";
+    public String toString() {
+        return "Deck{remaining=" + remaining() + " cards}";
     }
 }
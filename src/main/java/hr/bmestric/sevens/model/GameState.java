@@ -1,7 +1,13 @@
 package hr.bmestric.sevens.model;
 
+import hr.bmestric.sevens.model.enums.GameEndReason;
 import hr.bmestric.sevens.model.enums.GameStatus;
+import hr.bmestric.sevens.model.enums.Rank;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.io.Serializable;
 import java.time.Instant;
 import java.util.*;
@@ -9,18 +15,53 @@ import java.util.*;
 public class GameState implements Serializable {
     private static final long serialVersionUID = 1L;
     private static final int WINNING_SCORE = 4;
-
-    private final String gameId;
-    private final List<Player> players;
-    private final Deck deck;
-    private final Trick trick;
-    private final List<Trick> completedTricks;
-
+    // Wall-clock reading of the nanoTime origin, so modification times need no Instant.now() per move
+    private static final long CLOCK_ORIGIN_NANOS = System.nanoTime();
+    private static final Instant CLOCK_ORIGIN = Instant.now();
+
+    // Read back field by field: saves from before the trick log hold completedTricks as a List<Trick>
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("gameId", String.class),
+            new ObjectStreamField("players", List.class),
+            new ObjectStreamField("deck", Deck.class),
+            new ObjectStreamField("trick", Trick.class),
+            new ObjectStreamField("completedTricks", CompletedTrickLog.class),
+            new ObjectStreamField("currentTurnPlayerId", String.class),
+            new ObjectStreamField("lastTrickWinnerId", String.class),
+            new ObjectStreamField("gameStatus", GameStatus.class),
+            new ObjectStreamField("endReason", GameEndReason.class),
+            new ObjectStreamField("dealSeed", long.class),
+            new ObjectStreamField("createdAt", Instant.class),
+            new ObjectStreamField("lastModifiedAt", Instant.class),
+            new ObjectStreamField("version", long.class)
+    };
+
+    // Not final only so readObject() can assign them
+    private String gameId;
+    private List<Player> players;
+    private Deck deck;
+    private Trick trick;
+    // Cards of finished tricks with who played them, a byte each
+    private CompletedTrickLog completedTricks;
+
+    // Player ids by seat, shared with the trick and with forks; the String-id API maps through it
+    private transient String[] seatIds;
     private String currentTurnPlayerId;
     private String lastTrickWinnerId;
+    private transient int currentTurnSeat;
+    private transient int lastTrickWinnerSeat;
     private GameStatus gameStatus;
+    private GameEndReason endReason;
+    // Seed the deck was shuffled with; dealing again from it reproduces the game
+    private long dealSeed;
     private Instant createdAt;
+    // Null while a modification is pending conversion from modifiedNanos; see getLastModifiedAt()
     private Instant lastModifiedAt;
+    private transient long modifiedNanos;
+    // Engine version of the last committed change, the same as its StateSnapshot's; only ever increases
+    private long version;
+    // Xor of ZobristKeys for hands, deck order, trick, scores, turn and status; rebuilt after deserialization
+    private transient long positionHash;
 
     public GameState(List<Player> players) {
         this(UUID.randomUUID().toString(), players);
@@ -36,12 +77,53 @@ public class GameState implements Serializable {
 
         this.gameId = gameId;
         this.players = new ArrayList<>(players);
+        this.seatIds = new String[] { players.get(0).getId(), players.get(1).getId() };
         this.deck = new Deck();
-        this.trick = new Trick();
-        this.completedTricks = new ArrayList<>();
+        this.trick = new Trick(seatIds);
+        this.completedTricks = new CompletedTrickLog();
+        this.currentTurnSeat = Trick.NO_SEAT;
+        this.lastTrickWinnerSeat = Trick.NO_SEAT;
         this.gameStatus = GameStatus.NOT_STARTED;
         this.createdAt = Instant.now();
-        this.lastModifiedAt = Instant.now();
+        this.lastModifiedAt = createdAt;
+        this.positionHash = computePositionHash();
+    }
+
+    private GameState(GameState other) {
+        this.gameId = other.gameId;
+        this.players = new ArrayList<>(2);
+        this.players.add(other.players.get(0).copy());
+        this.players.add(other.players.get(1).copy());
+        this.seatIds = other.seatIds;
+        this.deck = other.deck.copy();
+        this.trick = other.trick.copy();
+        this.completedTricks = other.completedTricks.copy();
+        this.currentTurnPlayerId = other.currentTurnPlayerId;
+        this.lastTrickWinnerId = other.lastTrickWinnerId;
+        this.currentTurnSeat = other.currentTurnSeat;
+        this.lastTrickWinnerSeat = other.lastTrickWinnerSeat;
+        this.gameStatus = other.gameStatus;
+        this.endReason = other.endReason;
+        this.dealSeed = other.dealSeed;
+        this.createdAt = other.createdAt;
+        this.lastModifiedAt = other.lastModifiedAt;
+        this.modifiedNanos = other.modifiedNanos;
+        this.version = other.version;
+        this.positionHash = other.positionHash;
+    }
+
+    /**
+     * Cheap independent clone for what-if analysis. Player identities are shared; hands,
+     * deck order, the current trick, the completed-trick log, scores and status are copied.
+     * Mutating either state never affects the other.
+     */
+    public GameState fork() {
+        return new GameState(this);
+    }
+
+    // Independent copy; same as fork().
+    public GameState copy() {
+        return fork();
     }
 
     public String getGameId() {
@@ -53,15 +135,159 @@ public class GameState implements Serializable {
     }
 
     public Optional<Player> getPlayerById(String playerId) {
-        return players.stream()
-                .filter(p -> p.getId().equals(playerId))
-                .findFirst();
+        return Optional.ofNullable(findPlayer(playerId));
     }
 
     public Optional<Player> getOpponent(String playerId) {
-        return players.stream()
-                .filter(p -> !p.getId().equals(playerId))
-                .findFirst();
+        return Optional.ofNullable(findOpponent(playerId));
+    }
+
+    // Allocation-free lookups for the engine hot paths, null when not found.
+    public Player findPlayer(String playerId) {
+        int seat = seatIndex(playerId);
+        return seat == Trick.NO_SEAT ? null : players.get(seat);
+    }
+
+    public Player findOpponent(String playerId) {
+        return players.get(seatIndex(playerId) == 0 ? 1 : 0);
+    }
+
+    // Player at a seat index in getPlayers() order.
+    public Player getPlayer(int seat) {
+        return players.get(seat);
+    }
+
+    // Seat index in getPlayers() order, or Trick.NO_SEAT.
+    public int seatOf(String playerId) {
+        return seatIndex(playerId);
+    }
+
+    private int seatIndex(String playerId) {
+        if (playerId == null) {
+            return Trick.NO_SEAT;
+        }
+        return seatIds[0].equals(playerId) ? 0 : seatIds[1].equals(playerId) ? 1 : Trick.NO_SEAT;
+    }
+
+    private String idAt(int seat) {
+        return seat == Trick.NO_SEAT ? null : seatIds[seat];
+    }
+
+    // Seat of one of this state's own Player objects, or Trick.NO_SEAT.
+    public int seatOf(Player player) {
+        return players.get(0) == player ? 0 : players.get(1) == player ? 1 : Trick.NO_SEAT;
+    }
+
+    /**
+     * 64-bit Zobrist hash of the position: hands, deck order, trick, scores, player to move,
+     * last trick winner and status. Equal positions have equal hashes. It is kept up to date
+     * by the mutators on this class; after changing a Hand, Deck, Trick or score directly,
+     * call {@link #recomputePositionHash()}.
+     */
+    public long positionHash() {
+        return positionHash;
+    }
+
+    public void recomputePositionHash() {
+        positionHash = computePositionHash();
+    }
+
+    private long computePositionHash() {
+        long hash = 0L;
+        for (int seat = 0; seat < players.size(); seat++) {
+            Player player = players.get(seat);
+            for (Card card : player.getHand().getCards()) {
+                hash ^= ZobristKeys.hand(seat, card);
+            }
+            hash ^= ZobristKeys.score(seat, player.getScore());
+        }
+        List<Card> deckCards = deck.getCards();
+        for (int i = 0; i < deckCards.size(); i++) {
+            hash ^= ZobristKeys.deck(deckCards.size() - 1 - i, deckCards.get(i));
+        }
+        hash ^= trickHash();
+        hash ^= ZobristKeys.turn(currentTurnSeat);
+        hash ^= ZobristKeys.lastTrickWinner(lastTrickWinnerSeat);
+        hash ^= ZobristKeys.status(gameStatus);
+        return hash;
+    }
+
+    // Moves a card from the player's hand onto the trick.
+    public void playCard(Player player, Card card) {
+        int seat = seatOf(player);
+        int leaderBefore = trick.getLeaderSeat();
+        int matchingBefore = trick.getLastMatchingOrTrumpSeat();
+        int position = trick.size();
+
+        player.getHand().removeCard(card);
+        trick.addCard(card, seat);
+
+        positionHash ^= ZobristKeys.hand(seat, card) ^ ZobristKeys.trick(position, card);
+        if (leaderBefore == Trick.NO_SEAT) {
+            positionHash ^= ZobristKeys.trickLeader(seat);
+        }
+        if (seat == trick.getLeaderSeat()) {
+            int leaderCount = trick.getLeadingPlayerCardCount();
+            positionHash ^= ZobristKeys.trickLeaderCount(leaderCount - 1) ^ ZobristKeys.trickLeaderCount(leaderCount);
+        }
+        if (matchingBefore != trick.getLastMatchingOrTrumpSeat()) {
+            positionHash ^= ZobristKeys.trickLastMatching(matchingBefore)
+                    ^ ZobristKeys.trickLastMatching(seat);
+        }
+    }
+
+    // Draws the top card of the deck into the player's hand; null when the deck is empty.
+    public Card drawCard(Player player) {
+        int slot = deck.remaining() - 1;
+        Card card = deck.drawCard();
+        if (card == null) {
+            return null;
+        }
+        player.getHand().addCard(card);
+        positionHash ^= ZobristKeys.deck(slot, card) ^ ZobristKeys.hand(seatOf(player), card);
+        return card;
+    }
+
+    // Inverse of playCard: takes the last trick card back into the hand at its old position.
+    public void unplayCard(Player player, int handIndex, int previousLeaderSeat,
+                           int previousLastSeat, int previousLastMatchingSeat) {
+        int seat = seatOf(player);
+        int position = trick.size() - 1;
+        int matchingBefore = trick.getLastMatchingOrTrumpSeat();
+        int leaderCountBefore = trick.getLeadingPlayerCardCount();
+        Card card = trick.removeLastCard(previousLeaderSeat, previousLastSeat, previousLastMatchingSeat);
+        player.getHand().insertCard(handIndex, card);
+
+        positionHash ^= ZobristKeys.hand(seat, card) ^ ZobristKeys.trick(position, card);
+        if (previousLeaderSeat == Trick.NO_SEAT) {
+            positionHash ^= ZobristKeys.trickLeader(seat);
+        }
+        positionHash ^= ZobristKeys.trickLeaderCount(leaderCountBefore)
+                ^ ZobristKeys.trickLeaderCount(trick.getLeadingPlayerCardCount());
+        if (matchingBefore != previousLastMatchingSeat) {
+            positionHash ^= ZobristKeys.trickLastMatching(matchingBefore)
+                    ^ ZobristKeys.trickLastMatching(previousLastMatchingSeat);
+        }
+    }
+
+    // Inverse of drawCard: puts the player's most recently drawn card back on top of the deck.
+    public void undrawCard(Player player, Card card) {
+        player.getHand().removeCard(card);
+        deck.returnCard(card);
+        positionHash ^= ZobristKeys.deck(deck.remaining() - 1, card) ^ ZobristKeys.hand(seatOf(player), card);
+    }
+
+    public void setScore(Player player, int score) {
+        int seat = seatOf(player);
+        positionHash ^= ZobristKeys.score(seat, player.getScore()) ^ ZobristKeys.score(seat, score);
+        player.setScore(score);
+    }
+
+    public void addScore(Player player, int points) {
+        int seat = seatOf(player);
+        int before = player.getScore();
+        player.addScore(points);
+        positionHash ^= ZobristKeys.score(seat, before) ^ ZobristKeys.score(seat, player.getScore());
     }
 
     public Deck getDeck() {
@@ -72,8 +298,53 @@ public class GameState implements Serializable {
         return trick;
     }
 
+    // Read-only view; each Trick is rebuilt from the log when it is read.
     public List<Trick> getCompletedTricks() {
-        return Collections.unmodifiableList(completedTricks);
+        return completedTricks.asTricks(seatIds);
+    }
+
+    public int getCompletedTrickCount() {
+        return completedTricks.trickCount();
+    }
+
+    // Cards already taken in finished tricks, as a CardSet mask.
+    public int getCompletedCardsMask() {
+        return completedTricks.mask();
+    }
+
+    // Cards the given seat played into finished tricks, as a CardSet mask.
+    public int getCompletedCardsMask(int seat) {
+        return completedTricks.mask(seat);
+    }
+
+    /**
+     * Cards the given seat has not seen: not in its hand, the trick or a finished trick.
+     * That is exactly the opponent's hand plus the deck, both of which are kept as masks
+     * as cards move, so this is two field reads.
+     */
+    public int getUnseenMask(int seat) {
+        return players.get(seat == 0 ? 1 : 0).getHand().getMask() | deck.getMask();
+    }
+
+    public int countUnseen(int seat, Rank rank) {
+        return CardSet.countRank(getUnseenMask(seat), rank);
+    }
+
+    /**
+     * Chance, from the seat's point of view, that the opponent holds at least one card of
+     * the rank. Every unseen card is equally likely to be in the opponent's hand, so this is
+     * 1 - C(unseen - k, h) / C(unseen, h) for k unseen cards of the rank and a hand of h.
+     */
+    public double opponentHoldsProbability(int seat, Rank rank) {
+        int unseen = getUnseenMask(seat);
+        int unseenCount = Integer.bitCount(unseen);
+        int rankCount = CardSet.countRank(unseen, rank);
+        int handSize = players.get(seat == 0 ? 1 : 0).getHand().size();
+        double none = 1.0;
+        for (int i = 0; i < handSize; i++) {
+            none *= (double) (unseenCount - rankCount - i) / (unseenCount - i);
+        }
+        return 1.0 - Math.max(none, 0.0);
     }
 
     public String getCurrentTurnPlayerId() {
@@ -81,8 +352,17 @@ public class GameState implements Serializable {
     }
 
     public void setCurrentTurnPlayerId(String currentTurnPlayerId) {
-        this.currentTurnPlayerId = currentTurnPlayerId;
-        updateLastModified();
+        setCurrentTurnSeat(seatIndex(currentTurnPlayerId));
+    }
+
+    public int getCurrentTurnSeat() {
+        return currentTurnSeat;
+    }
+
+    public void setCurrentTurnSeat(int seat) {
+        positionHash ^= ZobristKeys.turn(currentTurnSeat) ^ ZobristKeys.turn(seat);
+        this.currentTurnSeat = seat;
+        this.currentTurnPlayerId = idAt(seat);
     }
 
     public String getLastTrickWinnerId() {
@@ -90,8 +370,17 @@ public class GameState implements Serializable {
     }
 
     public void setLastTrickWinnerId(String lastTrickWinnerId) {
-        this.lastTrickWinnerId = lastTrickWinnerId;
-        updateLastModified();
+        setLastTrickWinnerSeat(seatIndex(lastTrickWinnerId));
+    }
+
+    public int getLastTrickWinnerSeat() {
+        return lastTrickWinnerSeat;
+    }
+
+    public void setLastTrickWinnerSeat(int seat) {
+        positionHash ^= ZobristKeys.lastTrickWinner(lastTrickWinnerSeat) ^ ZobristKeys.lastTrickWinner(seat);
+        this.lastTrickWinnerSeat = seat;
+        this.lastTrickWinnerId = idAt(seat);
     }
 
     public GameStatus getGameStatus() {
@@ -99,8 +388,24 @@ public class GameState implements Serializable {
     }
 
     public void setGameStatus(GameStatus gameStatus) {
+        positionHash ^= ZobristKeys.status(this.gameStatus) ^ ZobristKeys.status(gameStatus);
         this.gameStatus = gameStatus;
-        updateLastModified();
+    }
+
+    public GameEndReason getEndReason() {
+        return endReason;
+    }
+
+    public void setEndReason(GameEndReason endReason) {
+        this.endReason = endReason;
+    }
+
+    public long getDealSeed() {
+        return dealSeed;
+    }
+
+    public void setDealSeed(long dealSeed) {
+        this.dealSeed = dealSeed;
     }
 
     public Instant getCreatedAt() {
@@ -108,21 +413,107 @@ public class GameState implements Serializable {
     }
 
     public Instant getLastModifiedAt() {
-        return lastModifiedAt;
+        Instant modified = lastModifiedAt;
+        if (modified == null) {
+            // Idempotent, so a racing reader of a published copy at worst computes it twice
+            modified = CLOCK_ORIGIN.plusNanos(modifiedNanos - CLOCK_ORIGIN_NANOS);
+            lastModifiedAt = modified;
+        }
+        return modified;
+    }
+
+    public long getVersion() {
+        return version;
     }
 
     public void archiveCurrentTrick() {
         if(trick.hasCards()) {
-            Trick archived = new Trick();
-            trick.getCards().forEach(card ->
-                    archived.addCard(card, trick.getLeadingPlayerId()));
-            completedTricks.add(archived);
+            positionHash ^= trickHash();
+            completedTricks.append(trick);
             trick.clear();
         }
     }
 
-    public void updateLastModified() {
-        this.lastModifiedAt = Instant.now();
+    // Inverse of archiveCurrentTrick: moves the last completed trick back into play.
+    public void unarchiveLastTrick() {
+        if (trick.hasCards() || completedTricks.isEmpty()) {
+            throw new IllegalStateException("No archived trick to restore");
+        }
+        // Replaying the cards with their seats rebuilds the leader, counts and last taker exactly
+        completedTricks.removeLast(trick);
+        positionHash ^= trickHash();
+    }
+
+    private long trickHash() {
+        long hash = 0L;
+        for (int i = 0; i < trick.size(); i++) {
+            hash ^= ZobristKeys.trick(i, trick.cardAt(i));
+        }
+        return hash ^ ZobristKeys.trickLeader(trick.getLeaderSeat())
+                ^ ZobristKeys.trickLastMatching(trick.getLastMatchingOrTrumpSeat())
+                ^ ZobristKeys.trickLeaderCount(trick.getLeadingPlayerCardCount());
+    }
+
+    // Called once per committed engine command with the engine's new version; the time is converted to an Instant on first read.
+    public void markModified(long newVersion) {
+        if (newVersion <= version) {
+            throw new IllegalArgumentException("Version must increase: " + newVersion + " after " + version);
+        }
+        version = newVersion;
+        modifiedNanos = System.nanoTime();
+        lastModifiedAt = null;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        getLastModifiedAt();
+        out.defaultWriteObject();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        gameId = (String) fields.get("gameId", null);
+        players = (List<Player>) fields.get("players", null);
+        deck = (Deck) fields.get("deck", null);
+        trick = (Trick) fields.get("trick", null);
+        currentTurnPlayerId = (String) fields.get("currentTurnPlayerId", null);
+        lastTrickWinnerId = (String) fields.get("lastTrickWinnerId", null);
+        gameStatus = (GameStatus) fields.get("gameStatus", null);
+        endReason = (GameEndReason) fields.get("endReason", null);
+        dealSeed = fields.get("dealSeed", 0L);
+        createdAt = (Instant) fields.get("createdAt", null);
+        lastModifiedAt = (Instant) fields.get("lastModifiedAt", null);
+        version = fields.get("version", 0L);
+        if (gameId == null || players == null || players.size() != 2 || deck == null || trick == null) {
+            throw new IOException("Invalid game state in stream");
+        }
+
+        seatIds = new String[] { players.get(0).getId(), players.get(1).getId() };
+        trick.bindSeats(seatIds);
+        completedTricks = readTrickLog(fields.get("completedTricks", null));
+        currentTurnSeat = seatIndex(currentTurnPlayerId);
+        lastTrickWinnerSeat = seatIndex(lastTrickWinnerId);
+        positionHash = computePositionHash();
+    }
+
+    // Saves from before the trick log hold a list of tricks; appending them in order rebuilds it.
+    private CompletedTrickLog readTrickLog(Object saved) throws IOException {
+        if (saved instanceof CompletedTrickLog log) {
+            return log;
+        }
+        if (!(saved instanceof List<?> tricks)) {
+            throw new IOException("Invalid completed tricks in stream");
+        }
+        CompletedTrickLog log = new CompletedTrickLog();
+        int cardCount = 0;
+        for (Object element : tricks) {
+            if (!(element instanceof Trick completed) || (cardCount += completed.size()) > CardSet.DECK_SIZE) {
+                throw new IOException("Invalid completed trick in stream");
+            }
+            completed.bindSeats(seatIds);
+            log.append(completed);
+        }
+        return log;
     }
 
     public boolean isGameOver() {
@@ -150,8 +541,8 @@ public class GameState implements Serializable {
         }
 
         if (player1.getScore() == WINNING_SCORE && player2.getScore() == WINNING_SCORE) {
-            if (lastTrickWinnerId != null) {
-                return getPlayerById(lastTrickWinnerId);
+            if (lastTrickWinnerSeat != Trick.NO_SEAT) {
+                return Optional.of(players.get(lastTrickWinnerSeat));
             }
         }
 
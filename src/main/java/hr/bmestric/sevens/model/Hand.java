@@ -2,6 +2,8 @@ package hr.bmestric.sevens.model;
 
 import hr.bmestric.sevens.model.enums.Rank;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -11,12 +13,24 @@ public class Hand implements Serializable {
     private static final long serialVersionUID = 1L;
     private static final int MAX_HAND_SIZE = 4;
 
+    // Keeps dealing order for display; membership queries go through the mask.
     private final List<Card> cards;
+    private transient int mask;
 
     public Hand () {
         this.cards = new ArrayList<>(MAX_HAND_SIZE);
     }
 
+    public Hand copy() {
+        Hand copy = new Hand();
+        // Indexed adds avoid the temporary array addAll() would make
+        for (int i = 0; i < cards.size(); i++) {
+            copy.cards.add(cards.get(i));
+        }
+        copy.mask = mask;
+        return copy;
+    }
+
     public void addCard(Card card) {
         if(card == null) {
             throw new IllegalArgumentException("Card cannot be null");
@@ -25,6 +39,7 @@ public class Hand implements Serializable {
             throw new IllegalStateException("Hand is full");
         }
         cards.add(card);
+        mask |= CardSet.bit(card);
     }
 
     public void addCards(List<Card> cardsToAdd) {
@@ -34,38 +49,69 @@ public class Hand implements Serializable {
                             cardsToAdd.size(), cards.size(), MAX_HAND_SIZE)
             );
         }
-        cards.addAll(cardsToAdd);
+        for (int i = 0; i < cardsToAdd.size(); i++) {
+            Card card = cardsToAdd.get(i);
+            cards.add(card);
+            mask |= CardSet.bit(card);
+        }
     }
 
     public boolean removeCard(Card card) {
         if(card == null) {
             throw new IllegalArgumentException("Card cannot be null");
         }
-        return cards.remove(card);
+        int bit = CardSet.bit(card);
+        if ((mask & bit) == 0) {
+            return false;
+        }
+        cards.remove(card);
+        mask &= ~bit;
+        return true;
+    }
+
+    // Position in dealing order, or -1.
+    public int indexOf(Card card) {
+        return (mask & CardSet.bit(card)) == 0 ? -1 : cards.indexOf(card);
+    }
+
+    // Puts a card back at the position it was removed from; used when undoing a move.
+    void insertCard(int index, Card card) {
+        cards.add(index, card);
+        mask |= CardSet.bit(card);
     }
 
     public boolean contains(Card card) {
         if(card == null) {
             throw new IllegalArgumentException("Card cannot be null");
         }
-        return cards.contains(card);
+        return (mask & CardSet.bit(card)) != 0;
     }
 
     public boolean containsRank(Rank rank) {
         if(rank == null) {
             throw new IllegalArgumentException("Rank cannot be null");
         }
-        return cards.stream().anyMatch(card -> card.getRank() == rank);
+        return CardSet.containsRank(mask, rank);
+    }
+
+    public int countRank(Rank rank) {
+        return CardSet.countRank(mask, rank);
     }
 
     public List<Card> getCardsWithRank(Rank rank) {
-        return cards.stream()
-                .filter(card -> card.getRank() == rank)
-                .toList();
+        return Collections.unmodifiableList(CardSet.toList(mask & CardSet.rankMask(rank)));
     }
 
     public boolean hasTrump() {
-        return cards.stream().anyMatch(Card::isTrump);
+        return CardSet.containsRank(mask, Rank.SEVEN);
+    }
+
+    public int getMask() {
+        return mask;
+    }
+
+    public CardSet getCardSet() {
+        return CardSet.of(mask);
     }
 
     public int size() {
@@ -86,11 +132,18 @@ public class Hand implements Serializable {
 
     public void clear() {
         cards.clear();
+        mask = CardSet.EMPTY_MASK;
     }
 
     public static int getMaxHandSize() {
         return MAX_HAND_SIZE;
     }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        mask = CardSet.maskOf(cards);
+    }
+
     @Override
     public String toString() {
         return "Hand" + cards;
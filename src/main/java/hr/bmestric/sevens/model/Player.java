@@ -33,6 +33,19 @@ public class Player implements Serializable {
         this.score = 0;
     }
 
+    private Player(Player other) {
+        this.id = other.id;
+        this.displayName = other.displayName;
+        this.playerType = other.playerType;
+        this.hand = other.hand.copy();
+        this.score = other.score;
+    }
+
+    // Same identity with an independent hand and score.
+    public Player copy() {
+        return new Player(this);
+    }
+
     public String getId() {
         return id;
     }
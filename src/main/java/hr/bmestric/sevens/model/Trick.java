@@ -2,50 +2,192 @@ package hr.bmestric.sevens.model;
 
 import hr.bmestric.sevens.model.enums.Rank;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 public class Trick implements Serializable {
     private static final long serialVersionUID = 1L;
+    public static final int NO_SEAT = -1;
 
     private final List<Card> cards;
+    private transient int mask;
+    // Ids are what gets saved and what the public API returns; the engine works on the seats
     private String leadingPlayerId;
     private String lastPlayerId;
     private String lastMatchingOrTrumpPlayerId;
+    private transient int leaderSeat;
+    private transient int lastSeat;
+    private transient int lastMatchingOrTrumpSeat;
+    // Running totals kept by addCard so resolution never rescans the cards
+    private transient Rank leadingRank;
+    private transient int takingMask;
+    private transient int points;
+    // Saved so a restored trick knows who played what; older saves read 0 and are estimated
+    private int leaderCardCount;
+    // Bit i set when card i was played by the responder rather than the leader
+    private int responderCardBits;
+    // Seat -> player id, shared with the owning GameState; a standalone trick fills it as players join
+    private transient String[] seatIds;
 
     public Trick() {
-        this.cards = new ArrayList<>();
+        this(new String[2], 4);
+    }
+
+    Trick(String[] seatIds) {
+        this(seatIds, 4);
+    }
+
+    private Trick(String[] seatIds, int capacity) {
+        this.cards = new ArrayList<>(capacity);
+        this.seatIds = seatIds;
+        this.leaderSeat = NO_SEAT;
+        this.lastSeat = NO_SEAT;
+        this.lastMatchingOrTrumpSeat = NO_SEAT;
+    }
+
+    public Trick copy() {
+        Trick copy = new Trick(seatIds, Math.max(cards.size(), 4));
+        for (int i = 0; i < cards.size(); i++) {
+            copy.cards.add(cards.get(i));
+        }
+        copy.mask = mask;
+        copy.leadingRank = leadingRank;
+        copy.takingMask = takingMask;
+        copy.points = points;
+        copy.leaderCardCount = leaderCardCount;
+        copy.responderCardBits = responderCardBits;
+        copy.leadingPlayerId = leadingPlayerId;
+        copy.lastPlayerId = lastPlayerId;
+        copy.lastMatchingOrTrumpPlayerId = lastMatchingOrTrumpPlayerId;
+        copy.leaderSeat = leaderSeat;
+        copy.lastSeat = lastSeat;
+        copy.lastMatchingOrTrumpSeat = lastMatchingOrTrumpSeat;
+        return copy;
     }
 
     public void addCard(Card card, String playerId) {
+        if(playerId == null) {
+            throw new IllegalArgumentException("Player ID cannot be null");
+        }
+        addCard(card, seatFor(playerId));
+    }
+
+    public void addCard(Card card, int seat) {
         if(card == null) {
             throw new IllegalArgumentException("Card cannot be null");
         }
-        if(playerId == null) {
-            throw new IllegalArgumentException("Player ID cannot be null");
+        if(seat < 0 || seat >= seatIds.length || seatIds[seat] == null) {
+            throw new IllegalArgumentException("Unknown seat: " + seat);
         }
 
+        int bit = CardSet.bit(card);
         cards.add(card);
-        if(leadingPlayerId == null) {
-            leadingPlayerId = playerId;
+        mask |= bit;
+        points += card.getRank().getPoints();
+        if(leaderSeat == NO_SEAT) {
+            setLeaderSeat(seat);
+            leadingRank = card.getRank();
+            takingMask = CardSet.matchingOrTrumpMask(leadingRank);
         }
-        lastPlayerId = playerId;
+        if(seat == leaderSeat) {
+            leaderCardCount++;
+        } else {
+            responderCardBits |= 1 << (cards.size() - 1);
+        }
+        setLastSeat(seat);
 
-        if (!cards.isEmpty()) {
-            Rank openingRank = cards.get(0).getRank();
-            if (card.getRank().isTrump() || card.getRank() == openingRank) {
-                lastMatchingOrTrumpPlayerId = playerId;
+        if ((takingMask & bit) != 0) {
+            setLastMatchingOrTrumpSeat(seat);
+        }
+    }
+
+    // Seat of a player id, taking the next free seat for a player new to a standalone trick.
+    private int seatFor(String playerId) {
+        for (int seat = 0; seat < seatIds.length; seat++) {
+            if (seatIds[seat] == null) {
+                seatIds[seat] = playerId;
+                return seat;
+            }
+            if (seatIds[seat].equals(playerId)) {
+                return seat;
             }
         }
+        throw new IllegalArgumentException("Player is not seated at this trick: " + playerId);
+    }
+
+    private String idAt(int seat) {
+        return seat == NO_SEAT ? null : seatIds[seat];
+    }
+
+    private void setLeaderSeat(int seat) {
+        leaderSeat = seat;
+        leadingPlayerId = idAt(seat);
+    }
+
+    private void setLastSeat(int seat) {
+        lastSeat = seat;
+        lastPlayerId = idAt(seat);
+    }
+
+    private void setLastMatchingOrTrumpSeat(int seat) {
+        lastMatchingOrTrumpSeat = seat;
+        lastMatchingOrTrumpPlayerId = idAt(seat);
+    }
+
+    // Re-attaches a deserialized trick to its game's seats.
+    void bindSeats(String[] seatIds) {
+        this.seatIds = seatIds;
+        leaderSeat = leadingPlayerId == null ? NO_SEAT : seatFor(leadingPlayerId);
+        lastSeat = lastPlayerId == null ? NO_SEAT : seatFor(lastPlayerId);
+        lastMatchingOrTrumpSeat = lastMatchingOrTrumpPlayerId == null
+                ? NO_SEAT : seatFor(lastMatchingOrTrumpPlayerId);
     }
 
     public List<Card> getCards() {
         return Collections.unmodifiableList(cards);
     }
 
+    public int size() {
+        return cards.size();
+    }
+
+    public Card cardAt(int index) {
+        return cards.get(index);
+    }
+
+    // Seat that played the card at the given position.
+    public int seatAt(int index) {
+        Objects.checkIndex(index, cards.size());
+        return (responderCardBits & (1 << index)) != 0 ? 1 - leaderSeat : leaderSeat;
+    }
+
+    public Rank getLeadingRank() {
+        return leadingRank;
+    }
+
+    // Cards that take the trick over from the current holder: the leading rank and trumps.
+    public int getMatchingOrTrumpMask() {
+        return takingMask;
+    }
+
+    public boolean contains(Card card) {
+        return CardSet.contains(mask, card);
+    }
+
+    public int getMask() {
+        return mask;
+    }
+
+    public CardSet getCardSet() {
+        return CardSet.of(mask);
+    }
+
     public boolean hasCards() {
         return !cards.isEmpty();
     }
@@ -62,27 +204,83 @@ public class Trick implements Serializable {
         return lastMatchingOrTrumpPlayerId;
     }
 
+    // Seat getters return NO_SEAT while the trick is empty.
+    public int getLeaderSeat() {
+        return leaderSeat;
+    }
+
+    public int getLastSeat() {
+        return lastSeat;
+    }
+
+    public int getLastMatchingOrTrumpSeat() {
+        return lastMatchingOrTrumpSeat;
+    }
+
     public Optional<Card> getLastCard() {
         return cards.isEmpty() ? Optional.empty() : Optional.of(cards.get(cards.size() - 1));
     }
 
     public int calculatePoints() {
-        return cards.stream()
-                .mapToInt(Card::getPoints)
-                .sum();
+        return points;
     }
+
     public int getLeadingPlayerCardCount() {
-        if (cards.isEmpty() || leadingPlayerId == null) {
-            return 0;
+        return leaderCardCount;
+    }
+
+    public int getRespondingPlayerCardCount() {
+        return cards.size() - leaderCardCount;
+    }
+
+    // Takes back the last card and restores the seats it replaced; used when undoing a move.
+    Card removeLastCard(int previousLeaderSeat, int previousLastSeat, int previousLastMatchingOrTrumpSeat) {
+        Card card = cards.remove(cards.size() - 1);
+        mask &= ~CardSet.bit(card);
+        points -= card.getRank().getPoints();
+        if (lastSeat == leaderSeat) {
+            leaderCardCount--;
+        }
+        responderCardBits &= ~(1 << cards.size());
+        if (cards.isEmpty()) {
+            leadingRank = null;
+            takingMask = CardSet.EMPTY_MASK;
         }
-        return (cards.size() + 1) / 2;
+        setLeaderSeat(previousLeaderSeat);
+        setLastSeat(previousLastSeat);
+        setLastMatchingOrTrumpSeat(previousLastMatchingOrTrumpSeat);
+        return card;
     }
 
     public void clear() {
         cards.clear();
-        leadingPlayerId = null;
-        lastPlayerId = null;
-        lastMatchingOrTrumpPlayerId = null;
+        mask = CardSet.EMPTY_MASK;
+        leadingRank = null;
+        takingMask = CardSet.EMPTY_MASK;
+        points = 0;
+        leaderCardCount = 0;
+        responderCardBits = 0;
+        setLeaderSeat(NO_SEAT);
+        setLastSeat(NO_SEAT);
+        setLastMatchingOrTrumpSeat(NO_SEAT);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        mask = CardSet.maskOf(cards);
+        recomputeTotals();
+        if (leaderCardCount == 0 && !cards.isEmpty()) {
+            // Saved before per-side counts: assume single cards, alternating from the leader
+            leaderCardCount = (cards.size() + 1) / 2;
+            responderCardBits = 0xAAAAAAAA & ((1 << cards.size()) - 1);
+        }
+        bindSeats(new String[2]);
+    }
+
+    private void recomputeTotals() {
+        points = CardSet.points(mask);
+        leadingRank = cards.isEmpty() ? null : cards.get(0).getRank();
+        takingMask = leadingRank == null ? CardSet.EMPTY_MASK : CardSet.matchingOrTrumpMask(leadingRank);
     }
 
     @Override
@@ -0,0 +1,97 @@
+package hr.bmestric.sevens.model;
+
+import hr.bmestric.sevens.model.enums.GameStatus;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random 64-bit keys for {@link GameState#positionHash()}. A position hash is the xor of
+ * the keys of every feature present, so a state change only xors out the old features and
+ * xors in the new ones. Keys come from a fixed seed so hashes agree across JVMs.
+ */
+public final class ZobristKeys {
+    private static final long SEED = 0x5EE7_5CA2_D6A3_E500L;
+    private static final int SEATS = 2;
+    private static final int SCORE_SLOTS = 32;
+
+    private static final long[][] HAND = new long[SEATS][CardSet.DECK_SIZE];
+    private static final long[][] DECK = new long[CardSet.DECK_SIZE][CardSet.DECK_SIZE];
+    private static final long[][] TRICK = new long[CardSet.DECK_SIZE][CardSet.DECK_SIZE];
+    private static final long[] TRICK_LEADER = new long[SEATS];
+    private static final long[] TRICK_LAST_MATCHING = new long[SEATS];
+    private static final long[] TRICK_LEADER_COUNT = new long[CardSet.DECK_SIZE];
+    private static final long[][] SCORE = new long[SEATS][SCORE_SLOTS];
+    private static final long[] TURN = new long[SEATS];
+    private static final long[] LAST_TRICK_WINNER = new long[SEATS];
+    private static final long[] STATUS = new long[GameStatus.values().length];
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int seat = 0; seat < SEATS; seat++) {
+            fill(HAND[seat], random);
+            fill(SCORE[seat], random);
+        }
+        for (int slot = 0; slot < CardSet.DECK_SIZE; slot++) {
+            fill(DECK[slot], random);
+            fill(TRICK[slot], random);
+        }
+        fill(TRICK_LEADER, random);
+        fill(TRICK_LAST_MATCHING, random);
+        fill(TRICK_LEADER_COUNT, random);
+        fill(TURN, random);
+        fill(LAST_TRICK_WINNER, random);
+        fill(STATUS, random);
+    }
+
+    private ZobristKeys() {
+        // Utility class
+    }
+
+    private static void fill(long[] keys, SplittableRandom random) {
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+        }
+    }
+
+    public static long hand(int seat, Card card) {
+        return HAND[seat][card.getIndex()];
+    }
+
+    // Deck slots count from the bottom card, so drawing from the top never renumbers the rest.
+    public static long deck(int slotFromBottom, Card card) {
+        return DECK[slotFromBottom][card.getIndex()];
+    }
+
+    public static long trick(int position, Card card) {
+        return TRICK[position][card.getIndex()];
+    }
+
+    public static long trickLeader(int seat) {
+        return seat < 0 ? 0L : TRICK_LEADER[seat];
+    }
+
+    public static long trickLastMatching(int seat) {
+        return seat < 0 ? 0L : TRICK_LAST_MATCHING[seat];
+    }
+
+    // Number of trick cards played by the leader; zero keys to nothing like an absent seat.
+    public static long trickLeaderCount(int count) {
+        return count == 0 ? 0L : TRICK_LEADER_COUNT[count];
+    }
+
+    public static long score(int seat, int score) {
+        return SCORE[seat][score & (SCORE_SLOTS - 1)];
+    }
+
+    public static long turn(int seat) {
+        return seat < 0 ? 0L : TURN[seat];
+    }
+
+    public static long lastTrickWinner(int seat) {
+        return seat < 0 ? 0L : LAST_TRICK_WINNER[seat];
+    }
+
+    public static long status(GameStatus status) {
+        return status == null ? 0L : STATUS[status.ordinal()];
+    }
+}
@@ -0,0 +1,7 @@
+package hr.bmestric.sevens.model.enums;
+
+public enum GameEndReason {
+    SCORE_LIMIT,
+    TIED_LAST_TRICK,
+    DECK_EXHAUSTED
+}
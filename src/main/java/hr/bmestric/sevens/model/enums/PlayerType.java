@@ -1,5 +1,6 @@
 package hr.bmestric.sevens.model.enums;
 
 public enum PlayerType {
-    LOCAL
+    LOCAL,
+    AI
 }
@@ -27,8 +27,13 @@ public class RemoteGameEngineImpl extends UnicastRemoteObject implements IRemote
     private final List<Player> registeredPlayers;
 
     public RemoteGameEngineImpl() throws RemoteException {
+        this(new GameEngine());
+    }
+
+    // Exposes an existing engine, e.g. one table of a GameHost.
+    public RemoteGameEngineImpl(IGameEngine gameEngine) throws RemoteException {
         super();
-        this.gameEngine = new GameEngine();
+        this.gameEngine = gameEngine;
         this.clients = new ConcurrentHashMap<>();
         this.registeredPlayers = new ArrayList<>();
         logger.info("RemoteGameEngine initialized");
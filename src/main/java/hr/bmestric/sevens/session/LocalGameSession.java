@@ -1,22 +1,52 @@
 package hr.bmestric.sevens.session;
 
+import hr.bmestric.sevens.ai.IsmctsBot;
+import hr.bmestric.sevens.ai.IsmctsConfig;
+import hr.bmestric.sevens.ai.interfaces.IBotPlayer;
 import hr.bmestric.sevens.engine.InvalidMoveException;
+import hr.bmestric.sevens.engine.Move;
 import hr.bmestric.sevens.engine.interfaces.IGameEngine;
 import hr.bmestric.sevens.model.Card;
 import hr.bmestric.sevens.model.GameState;
 import hr.bmestric.sevens.model.Player;
+import hr.bmestric.sevens.model.enums.PlayerType;
 import hr.bmestric.sevens.session.interfaces.IGameSession;
+import hr.bmestric.sevens.util.ThreadingHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 
+/**
+ * Session over an in-process engine. Players of type {@link PlayerType#AI} are driven by
+ * bots: whenever it becomes a bot's turn its move is searched and applied on a background
+ * thread, so a human can play a bot and two bots can play each other.
+ */
 public class LocalGameSession implements IGameSession {
+    private static final Logger logger = LoggerFactory.getLogger(LocalGameSession.class);
 
     private final IGameEngine engine;
+    private final Map<String, IBotPlayer> bots;
     private volatile StateListener stateListener;
+    private ExecutorService botExecutor;
+    private volatile boolean closed;
 
     public LocalGameSession(IGameEngine engine) {
         this.engine = Objects.requireNonNull(engine, "engine");
+        this.bots = new ConcurrentHashMap<>();
+    }
+
+    // Uses the given bot for its player instead of the default ISMCTS bot.
+    public void registerBot(IBotPlayer bot) {
+        IBotPlayer previous = bots.put(bot.getPlayerId(), bot);
+        if (previous != null && previous != bot) {
+            previous.shutdown();
+        }
+        scheduleBotTurn();
     }
 
     @Override
@@ -27,19 +57,25 @@ public class LocalGameSession implements IGameSession {
     @Override
     public void playCard(String playerId, Card card) throws InvalidMoveException {
         engine.playCards(playerId, List.of(card));
+        notifyBots(playerId, Move.of(card));
         emit();
+        scheduleBotTurn();
     }
 
     @Override
     public void passTurn(String playerId) throws InvalidMoveException {
         engine.passTurn(playerId);
+        notifyBots(playerId, Move.PASS);
         emit();
+        scheduleBotTurn();
     }
 
     @Override
     public void restoreState(GameState state) {
         engine.restoreState(state);
+        resetBots();
         emit();
+        scheduleBotTurn();
     }
 
     @Override
@@ -51,7 +87,9 @@ public class LocalGameSession implements IGameSession {
         List<Player> players = state.getPlayers();
         engine.resetGame();
         engine.startNewGame(players);
+        resetBots();
         emit();
+        scheduleBotTurn();
     }
 
     @Override
@@ -72,8 +110,78 @@ public class LocalGameSession implements IGameSession {
         }
     }
 
+    private void notifyBots(String playerId, int move) {
+        for (IBotPlayer bot : bots.values()) {
+            bot.onMovePlayed(playerId, move);
+        }
+    }
+
+    private void resetBots() {
+        for (IBotPlayer bot : bots.values()) {
+            bot.reset();
+        }
+    }
+
+    private IBotPlayer botFor(Player player) {
+        if (player == null || player.getPlayerType() != PlayerType.AI) {
+            return null;
+        }
+        return bots.computeIfAbsent(player.getId(), id -> new IsmctsBot(id, IsmctsConfig.defaults()));
+    }
+
+    private synchronized void scheduleBotTurn() {
+        if (closed) {
+            return;
+        }
+        GameState state = engine.getState();
+        if (state == null || !state.isInProgress()
+                || botFor(state.findPlayer(state.getCurrentTurnPlayerId())) == null) {
+            return;
+        }
+        if (botExecutor == null) {
+            botExecutor = ThreadingHelper.createSingleThreadExecutor("LocalGameSession-Bot");
+        }
+        botExecutor.submit(this::playBotTurn);
+    }
+
+    private void playBotTurn() {
+        GameState state = engine.getState();
+        if (closed || state == null || !state.isInProgress()) {
+            return;
+        }
+        String playerId = state.getCurrentTurnPlayerId();
+        IBotPlayer bot = botFor(state.findPlayer(playerId));
+        if (bot == null) {
+            return;
+        }
+
+        try {
+            int move = bot.chooseMove(state);
+            if (Move.isPass(move)) {
+                engine.passTurn(playerId);
+            } else {
+                engine.playCards(playerId, Move.toCards(move));
+            }
+            notifyBots(playerId, move);
+        } catch (RuntimeException e) {
+            // Stop driving this game rather than retrying the same position forever
+            logger.error("Bot {} failed to move", playerId, e);
+            return;
+        }
+        emit();
+        scheduleBotTurn();
+    }
+
     @Override
     public void close() {
-        //nothing to clean up
+        synchronized (this) {
+            closed = true;
+            if (botExecutor != null) {
+                ThreadingHelper.shutdownGracefully(botExecutor, 5);
+            }
+        }
+        for (IBotPlayer bot : bots.values()) {
+            bot.shutdown();
+        }
     }
 }
@@ -0,0 +1,83 @@
+package hr.bmestric.sevens.sim;
+
+import hr.bmestric.sevens.engine.GameRules;
+import hr.bmestric.sevens.engine.MoveList;
+import hr.bmestric.sevens.engine.MoveValidator;
+import hr.bmestric.sevens.engine.TrickResolver;
+import hr.bmestric.sevens.engine.interfaces.IMoveValidator;
+import hr.bmestric.sevens.engine.interfaces.ITrickResolver;
+import hr.bmestric.sevens.model.GameState;
+import hr.bmestric.sevens.model.Player;
+import hr.bmestric.sevens.model.enums.PlayerType;
+import hr.bmestric.sevens.sim.interfaces.IMovePolicy;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Plays complete games on one thread through {@link GameRules}, bypassing the engine's
+ * lock, logging and timestamps. Not thread-safe; each worker owns its own instance.
+ */
+public class GameSimulator {
+    private static final int MAX_MOVES_PER_GAME = 500;
+
+    private final IMoveValidator moveValidator;
+    private final ITrickResolver trickResolver;
+    private final IMovePolicy[] policies;
+    private final List<Player> players;
+    private final MoveList legalMoves;
+    private long gameCounter;
+
+    public GameSimulator(IMovePolicy firstSeat, IMovePolicy secondSeat) {
+        this(new MoveValidator(), new TrickResolver(), firstSeat, secondSeat);
+    }
+
+    public GameSimulator(IMoveValidator moveValidator, ITrickResolver trickResolver,
+                         IMovePolicy firstSeat, IMovePolicy secondSeat) {
+        this.moveValidator = moveValidator;
+        this.trickResolver = trickResolver;
+        this.policies = new IMovePolicy[]{firstSeat, secondSeat};
+        // Players are reused across games; dealing resets their hands and scores
+        this.players = List.of(
+                new Player("sim-1", "Seat 1", PlayerType.LOCAL),
+                new Player("sim-2", "Seat 2", PlayerType.LOCAL));
+        this.legalMoves = new MoveList();
+    }
+
+    public GameState playGame(RandomGenerator random, SimulationStats stats) {
+        GameState state = new GameState("sim-" + (++gameCounter), players);
+        GameRules.dealNewGame(state, random);
+        return play(state, random, stats);
+    }
+
+    // Plays a game in which the given seat is dealt the given four cards.
+    public GameState playOpening(int seat, int handMask, RandomGenerator random, SimulationStats stats) {
+        GameState state = new GameState("sim-" + (++gameCounter), players);
+        GameRules.dealOpening(state, seat, handMask, random.nextLong());
+        return play(state, random, stats);
+    }
+
+    private GameState play(GameState state, RandomGenerator random, SimulationStats stats) {
+        int moves = 0;
+        boolean stalled = false;
+        while (!state.isGameOver()) {
+            if (moves++ >= MAX_MOVES_PER_GAME) {
+                stalled = true;
+                break;
+            }
+
+            String playerId = state.getCurrentTurnPlayerId();
+            Player player = state.findPlayer(playerId);
+            IMovePolicy policy = policies[player == players.get(0) ? 0 : 1];
+
+            if (moveValidator.generateLegalMoves(state, playerId, legalMoves) == 0) {
+                stalled = true;
+                break;
+            }
+            GameRules.playMove(state, player, policy.chooseMove(state, player, legalMoves, random), trickResolver);
+        }
+
+        stats.record(state, moves, stalled);
+        return state;
+    }
+}
@@ -0,0 +1,78 @@
+package hr.bmestric.sevens.sim;
+
+import hr.bmestric.sevens.engine.Move;
+import hr.bmestric.sevens.engine.MoveList;
+import hr.bmestric.sevens.model.GameState;
+import hr.bmestric.sevens.model.Player;
+import hr.bmestric.sevens.model.Trick;
+import hr.bmestric.sevens.model.enums.Rank;
+import hr.bmestric.sevens.sim.interfaces.IMovePolicy;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Simple baseline: leads its cheapest single card, takes tricks that carry points
+ * (matching rank before spending a 7), and otherwise passes or discards cheaply.
+ */
+public class GreedyMovePolicy implements IMovePolicy {
+    @Override
+    public int chooseMove(GameState state, Player player, MoveList legalMoves, RandomGenerator random) {
+        Trick trick = state.getTrick();
+        if (!trick.hasCards()) {
+            return cheapest(legalMoves, random);
+        }
+
+        Rank leadingRank = trick.getLeadingRank();
+        boolean canPass = false;
+        int best = Move.PASS;
+        int bestCost = Integer.MAX_VALUE;
+        for (int i = 0; i < legalMoves.size(); i++) {
+            int move = legalMoves.get(i);
+            if (Move.isPass(move)) {
+                canPass = true;
+                continue;
+            }
+            Rank rank = Move.rank(move);
+            if (rank != leadingRank && rank != Rank.SEVEN) {
+                continue;
+            }
+            int cost = (rank == Rank.SEVEN ? 11 : 1) * Move.size(move);
+            if (cost < bestCost) {
+                best = move;
+                bestCost = cost;
+            }
+        }
+
+        if (!Move.isPass(best) && trick.calculatePoints() + Move.points(best) > 0) {
+            return best;
+        }
+        if (canPass) {
+            return Move.PASS;
+        }
+        return cheapest(legalMoves, random);
+    }
+
+    private static int cheapest(MoveList legalMoves, RandomGenerator random) {
+        int best = legalMoves.get(0);
+        int bestCost = Integer.MAX_VALUE;
+        for (int i = 0; i < legalMoves.size(); i++) {
+            int move = legalMoves.get(i);
+            if (Move.isPass(move)) {
+                continue;
+            }
+            Rank rank = Move.rank(move);
+            int cost = Move.size(move) * ((rank.isTrump() ? 20 : 0) + rank.getPoints() * 10 + rank.ordinal())
+                    + random.nextInt(2);
+            if (cost < bestCost) {
+                best = move;
+                bestCost = cost;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public String getName() {
+        return "greedy";
+    }
+}
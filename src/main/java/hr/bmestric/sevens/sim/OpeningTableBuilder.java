@@ -0,0 +1,97 @@
+package hr.bmestric.sevens.sim;
+
+import hr.bmestric.sevens.ai.OpeningTable;
+import hr.bmestric.sevens.model.CardSet;
+import hr.bmestric.sevens.sim.interfaces.IMovePolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Builds the {@link OpeningTable} resource: for every four-card hand and both seats, plays
+ * a fixed number of games with that hand dealt to the seat and records the seat's win rate.
+ * Each hand draws its games from a random seeded by the run seed and the hand index, so
+ * the table is the same for a given seed whatever the parallelism.
+ */
+public class OpeningTableBuilder {
+    private static final Logger logger = LoggerFactory.getLogger(OpeningTableBuilder.class);
+    private static final long HAND_SEED_STEP = 0x9E3779B97F4A7C15L;
+
+    private final int parallelism;
+    private final Supplier<IMovePolicy> policy;
+
+    public OpeningTableBuilder(int parallelism, Supplier<IMovePolicy> policy) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        this.policy = policy;
+    }
+
+    // Two win rates per hand index, seat 0 first, as OpeningTable.write() expects.
+    public double[] build(int gamesPerHand, long seed) {
+        if (gamesPerHand <= 0) {
+            throw new IllegalArgumentException("Games per hand must be positive: " + gamesPerHand);
+        }
+        double[] winRates = new double[OpeningTable.HAND_COUNT * 2];
+        ThreadLocal<GameSimulator> simulators = ThreadLocal.withInitial(
+                () -> new GameSimulator(policy.get(), policy.get()));
+        AtomicInteger done = new AtomicInteger();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.submit(() -> IntStream.range(0, OpeningTable.HAND_COUNT).parallel().forEach(index -> {
+                GameSimulator simulator = simulators.get();
+                SplittableRandom random = new SplittableRandom(seed + index * HAND_SEED_STEP);
+                int hand = OpeningTable.handAt(index);
+                for (int seat = 0; seat < 2; seat++) {
+                    winRates[index * 2 + seat] = play(simulator, seat, hand, gamesPerHand, random);
+                }
+                int finished = done.incrementAndGet();
+                if (finished % 5_000 == 0) {
+                    logger.info("{} of {} hands evaluated", finished, OpeningTable.HAND_COUNT);
+                }
+            })).join();
+        } finally {
+            pool.shutdown();
+        }
+        return winRates;
+    }
+
+    // Games without a winner count as half a win.
+    private static double play(GameSimulator simulator, int seat, int hand, int games, SplittableRandom random) {
+        SimulationStats stats = new SimulationStats();
+        for (int i = 0; i < games; i++) {
+            simulator.playOpening(seat, hand, random, stats);
+        }
+        long undecided = stats.getGames() - stats.getSeatWins(0) - stats.getSeatWins(1);
+        return (stats.getSeatWins(seat) + undecided / 2.0) / stats.getGames();
+    }
+
+    // Usage: OpeningTableBuilder <output file> [games per hand and seat] [seed]
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: OpeningTableBuilder <output file> [games per hand and seat] [seed]");
+            return;
+        }
+        Path output = Path.of(args[0]);
+        int gamesPerHand = args.length > 1 ? Integer.parseInt(args[1]) : 256;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1L;
+
+        logger.info("Evaluating {} opening hands from a {}-card deck, {} games each per seat, seed {}",
+                OpeningTable.HAND_COUNT, CardSet.DECK_SIZE, gamesPerHand, seed);
+        long startNanos = System.nanoTime();
+        OpeningTableBuilder builder = new OpeningTableBuilder(
+                Runtime.getRuntime().availableProcessors(), GreedyMovePolicy::new);
+        double[] winRates = builder.build(gamesPerHand, seed);
+        OpeningTable.write(output, gamesPerHand, seed, winRates);
+        logger.info("Wrote {} in {} s", output, (System.nanoTime() - startNanos) / 1_000_000_000L);
+    }
+}
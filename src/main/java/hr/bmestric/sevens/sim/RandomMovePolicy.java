@@ -0,0 +1,20 @@
+package hr.bmestric.sevens.sim;
+
+import hr.bmestric.sevens.engine.MoveList;
+import hr.bmestric.sevens.model.GameState;
+import hr.bmestric.sevens.model.Player;
+import hr.bmestric.sevens.sim.interfaces.IMovePolicy;
+
+import java.util.random.RandomGenerator;
+
+public class RandomMovePolicy implements IMovePolicy {
+    @Override
+    public int chooseMove(GameState state, Player player, MoveList legalMoves, RandomGenerator random) {
+        return legalMoves.get(random.nextInt(legalMoves.size()));
+    }
+
+    @Override
+    public String getName() {
+        return "random";
+    }
+}
@@ -0,0 +1,98 @@
+package hr.bmestric.sevens.sim;
+
+import hr.bmestric.sevens.sim.interfaces.IMovePolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Runs large batches of headless games across all cores. Each worker gets its own
+ * simulator, policies and a {@link SplittableRandom} split from the run seed, so a run
+ * is reproducible for a given seed and parallelism.
+ */
+public class SimulationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(SimulationRunner.class);
+
+    private final int parallelism;
+    private final Supplier<IMovePolicy> firstSeatPolicy;
+    private final Supplier<IMovePolicy> secondSeatPolicy;
+
+    public SimulationRunner(Supplier<IMovePolicy> firstSeatPolicy, Supplier<IMovePolicy> secondSeatPolicy) {
+        this(Runtime.getRuntime().availableProcessors(), firstSeatPolicy, secondSeatPolicy);
+    }
+
+    public SimulationRunner(int parallelism, Supplier<IMovePolicy> firstSeatPolicy,
+                            Supplier<IMovePolicy> secondSeatPolicy) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        this.firstSeatPolicy = firstSeatPolicy;
+        this.secondSeatPolicy = secondSeatPolicy;
+    }
+
+    public SimulationStats run(long games, long seed) {
+        if (games < 0) {
+            throw new IllegalArgumentException("Game count cannot be negative: " + games);
+        }
+
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] workerRandoms = new SplittableRandom[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            workerRandoms[i] = root.split();
+        }
+
+        long startNanos = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            SimulationStats stats = pool.submit(() -> IntStream.range(0, parallelism)
+                            .parallel()
+                            .mapToObj(worker -> runWorker(gamesForWorker(games, worker), workerRandoms[worker]))
+                            .reduce(new SimulationStats(), SimulationStats::merge))
+                    .join();
+            stats.setElapsedNanos(System.nanoTime() - startNanos);
+            return stats;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private long gamesForWorker(long games, int worker) {
+        long share = games / parallelism;
+        return worker < games % parallelism ? share + 1 : share;
+    }
+
+    private SimulationStats runWorker(long games, SplittableRandom random) {
+        GameSimulator simulator = new GameSimulator(firstSeatPolicy.get(), secondSeatPolicy.get());
+        SimulationStats stats = new SimulationStats();
+        for (long i = 0; i < games; i++) {
+            simulator.playGame(random, stats);
+        }
+        return stats;
+    }
+
+    private static Supplier<IMovePolicy> policyByName(String name) {
+        return switch (name) {
+            case "random" -> RandomMovePolicy::new;
+            case "greedy" -> GreedyMovePolicy::new;
+            default -> throw new IllegalArgumentException("Unknown policy: " + name);
+        };
+    }
+
+    // Usage: SimulationRunner [games] [seed] [seat1Policy] [seat2Policy]
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000L;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+        String first = args.length > 2 ? args[2] : "greedy";
+        String second = args.length > 3 ? args[3] : "random";
+
+        logger.info("Simulating {} games ({} vs {}), seed {}", games, first, second, seed);
+        SimulationRunner runner = new SimulationRunner(policyByName(first), policyByName(second));
+        SimulationStats stats = runner.run(games, seed);
+        System.out.println(stats);
+    }
+}
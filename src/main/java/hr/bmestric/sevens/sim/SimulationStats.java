@@ -0,0 +1,133 @@
+package hr.bmestric.sevens.sim;
+
+import hr.bmestric.sevens.model.GameState;
+import hr.bmestric.sevens.model.Player;
+import hr.bmestric.sevens.model.enums.GameEndReason;
+
+import java.util.List;
+
+/**
+ * Mutable per-worker accumulator; workers merge their results once at the end of a run.
+ */
+public class SimulationStats {
+    private long games;
+    private final long[] seatWins = new long[2];
+    private long noWinner;
+    private long scoreLimitEndings;
+    private long tiedEndings;
+    private long deckExhaustedEndings;
+    private long stalledGames;
+    private long totalTricks;
+    private long totalMoves;
+    private long elapsedNanos;
+
+    void record(GameState state, int moves, boolean stalled) {
+        games++;
+        totalMoves += moves;
+        totalTricks += state.getCompletedTrickCount();
+        if (stalled) {
+            stalledGames++;
+            return;
+        }
+
+        GameEndReason reason = state.getEndReason();
+        if (reason == GameEndReason.SCORE_LIMIT) {
+            scoreLimitEndings++;
+        } else if (reason == GameEndReason.TIED_LAST_TRICK) {
+            tiedEndings++;
+        } else if (reason == GameEndReason.DECK_EXHAUSTED) {
+            deckExhaustedEndings++;
+        }
+
+        Player winner = state.getWinner().orElse(null);
+        List<Player> players = state.getPlayers();
+        if (winner == null) {
+            noWinner++;
+        } else {
+            seatWins[winner == players.get(0) ? 0 : 1]++;
+        }
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public SimulationStats merge(SimulationStats other) {
+        SimulationStats merged = new SimulationStats();
+        merged.games = games + other.games;
+        merged.seatWins[0] = seatWins[0] + other.seatWins[0];
+        merged.seatWins[1] = seatWins[1] + other.seatWins[1];
+        merged.noWinner = noWinner + other.noWinner;
+        merged.scoreLimitEndings = scoreLimitEndings + other.scoreLimitEndings;
+        merged.tiedEndings = tiedEndings + other.tiedEndings;
+        merged.deckExhaustedEndings = deckExhaustedEndings + other.deckExhaustedEndings;
+        merged.stalledGames = stalledGames + other.stalledGames;
+        merged.totalTricks = totalTricks + other.totalTricks;
+        merged.totalMoves = totalMoves + other.totalMoves;
+        merged.elapsedNanos = Math.max(elapsedNanos, other.elapsedNanos);
+        return merged;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getSeatWins(int seat) {
+        return seatWins[seat];
+    }
+
+    public double getWinRate(int seat) {
+        return games == 0 ? 0 : (double) seatWins[seat] / games;
+    }
+
+    public long getNoWinner() {
+        return noWinner;
+    }
+
+    public long getScoreLimitEndings() {
+        return scoreLimitEndings;
+    }
+
+    public long getTiedEndings() {
+        return tiedEndings;
+    }
+
+    public double getTieFrequency() {
+        return games == 0 ? 0 : (double) tiedEndings / games;
+    }
+
+    public long getDeckExhaustedEndings() {
+        return deckExhaustedEndings;
+    }
+
+    public long getStalledGames() {
+        return stalledGames;
+    }
+
+    public double getAverageTricks() {
+        return games == 0 ? 0 : (double) totalTricks / games;
+    }
+
+    public double getAverageMoves() {
+        return games == 0 ? 0 : (double) totalMoves / games;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "SimulationStats{games=%d, seat1Wins=%.2f%%, seat2Wins=%.2f%%, noWinner=%d, " +
+                        "scoreLimit=%d, tied4-4=%.2f%%, deckExhausted=%d, stalled=%d, " +
+                        "avgTricks=%.2f, avgMoves=%.2f, gamesPerSecond=%.0f}",
+                games, getWinRate(0) * 100, getWinRate(1) * 100, noWinner,
+                scoreLimitEndings, getTieFrequency() * 100, deckExhaustedEndings, stalledGames,
+                getAverageTricks(), getAverageMoves(), getGamesPerSecond());
+    }
+}
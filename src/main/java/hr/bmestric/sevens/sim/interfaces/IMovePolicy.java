@@ -0,0 +1,14 @@
+package hr.bmestric.sevens.sim.interfaces;
+
+import hr.bmestric.sevens.engine.MoveList;
+import hr.bmestric.sevens.model.GameState;
+import hr.bmestric.sevens.model.Player;
+
+import java.util.random.RandomGenerator;
+
+public interface IMovePolicy {
+    // Returns one of the encoded moves in legalMoves (never empty); Move.PASS is listed when passing is legal.
+    int chooseMove(GameState state, Player player, MoveList legalMoves, RandomGenerator random);
+
+    String getName();
+}
@@ -3,7 +3,7 @@ package hr.bmestric.sevens.ui.controller;
 import hr.bmestric.sevens.AppContext;
 import hr.bmestric.sevens.engine.InvalidMoveException;
 import hr.bmestric.sevens.engine.interfaces.IGameEngine;
-import hr.bmestric.sevens.events.GameEvent;
+import hr.bmestric.sevens.events.StateChangedEvent;
 import hr.bmestric.sevens.events.interfaces.IGameEventListener;
 import hr.bmestric.sevens.model.Card;
 import hr.bmestric.sevens.model.GameState;
@@ -41,7 +41,7 @@ import java.nio.file.Path;
 import java.rmi.RemoteException;
 import java.util.List;
 
-public class GameViewController implements IGameEventListener<GameEvent> {
+public class GameViewController implements IGameEventListener<StateChangedEvent> {
     private static final Logger logger = LoggerFactory.getLogger(GameViewController.class);
     private static final int CARD_WIDTH = 80;
     private static final int CARD_HEIGHT = 120;
@@ -95,8 +95,8 @@ public class GameViewController implements IGameEventListener<GameEvent> {
         this.appContext = AppContext.getInstance();
         this.gameEngine = appContext.getGameEngine();
         this.sessionFactory = new hr.bmestric.sevens.ui.service.DefaultSessionFactory();
+        // Local games refresh once per committed command, from the engine's StateChangedEvent
         this.session = sessionFactory.createLocalGameSession(this.gameEngine);
-        this.session.setStateListener(state -> Platform.runLater(this::updateUI));
     }
 
     public void setUiServices(UiServices services) {
@@ -171,7 +171,7 @@ public class GameViewController implements IGameEventListener<GameEvent> {
 
     @FXML
     private void initialize() {
-        appContext.getEventBus().subscribe(GameEvent.class, this);
+        appContext.getEventBus().subscribe(StateChangedEvent.class, this);
         updateUI();
     }
 
@@ -534,8 +534,11 @@ public class GameViewController implements IGameEventListener<GameEvent> {
     }
 
     @Override
-    public void onEvent(GameEvent event) {
-        Platform.runLater(this::updateUI);
+    public void onEvent(StateChangedEvent event) {
+        // An RMI session refreshes through its own state listener
+        if (!isRmiMode) {
+            Platform.runLater(this::updateUI);
+        }
     }
 
     public void shutdown() {